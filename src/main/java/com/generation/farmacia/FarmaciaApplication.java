@@ -3,10 +3,12 @@ package com.generation.farmacia;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import io.github.cdimascio.dotenv.Dotenv;
 
 @SpringBootApplication
+@EnableScheduling // Gravação em lote do estoque (EstoqueService)
 public class FarmaciaApplication {
 
 	public static void main(String[] args) {
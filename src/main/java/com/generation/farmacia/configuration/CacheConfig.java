@@ -0,0 +1,102 @@
+package com.generation.farmacia.configuration;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	// Nomes dos caches do catálogo
+	public static final String PRODUTOS = "produtos";
+	public static final String CATEGORIAS = "categorias";
+	public static final String PRODUTOS_PAGINAS = "produtosPaginas";
+	public static final String CATEGORIAS_PAGINAS = "categoriasPaginas";
+
+	// Usuários autenticados via token JWT (evita uma consulta ao banco por requisição)
+	public static final String PRINCIPAIS = "principais";
+
+	// Tokens JWT já verificados (chave = hash do token), mantidos até a expiração do próprio token
+	public static final String TOKENS = "tokens";
+
+	@Value("${cache.catalogo.tamanho-maximo}")
+	private long tamanhoMaximoCatalogo;
+
+	@Value("${cache.catalogo.expiracao}")
+	private Duration expiracaoCatalogo;
+
+	@Value("${cache.principais.tamanho-maximo}")
+	private long tamanhoMaximoPrincipais;
+
+	@Value("${cache.principais.expiracao}")
+	private Duration expiracaoPrincipais;
+
+	@Value("${cache.tokens.tamanho-maximo}")
+	private long tamanhoMaximoTokens;
+
+	@Bean
+	CacheManager cacheManager() {
+
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+		// Cada cache tem tamanho máximo e tempo de expiração próprios, com estatísticas de
+		// acertos/faltas/remoções habilitadas para o monitoramento
+		for (String nome : new String[] { PRODUTOS, CATEGORIAS, PRODUTOS_PAGINAS, CATEGORIAS_PAGINAS }) {
+			cacheManager.registerCustomCache(nome, Caffeine.newBuilder()
+					.maximumSize(tamanhoMaximoCatalogo)
+					.expireAfterWrite(expiracaoCatalogo)
+					.recordStats()
+					.build());
+		}
+
+		cacheManager.registerCustomCache(PRINCIPAIS, Caffeine.newBuilder()
+				.maximumSize(tamanhoMaximoPrincipais)
+				.expireAfterWrite(expiracaoPrincipais)
+				.recordStats()
+				.build());
+
+		cacheManager.registerCustomCache(TOKENS, criarCacheTokens(tamanhoMaximoTokens));
+
+		return cacheManager;
+	}
+
+	// Cache de tokens em que cada entrada expira junto com o token (claim "exp")
+	public static Cache<Object, Object> criarCacheTokens(long tamanhoMaximo) {
+		return Caffeine.newBuilder()
+				.maximumSize(tamanhoMaximo)
+				.expireAfter(new Expiry<Object, Object>() {
+
+					@Override
+					public long expireAfterCreate(Object chave, Object claims, long agora) {
+						Duration restante = Duration.between(Instant.now(), ((Claims) claims).getExpiration().toInstant());
+						return Math.max(restante.toNanos(), 0);
+					}
+
+					@Override
+					public long expireAfterUpdate(Object chave, Object claims, long agora, long duracaoAtual) {
+						return expireAfterCreate(chave, claims, agora);
+					}
+
+					@Override
+					public long expireAfterRead(Object chave, Object claims, long agora, long duracaoAtual) {
+						return duracaoAtual;
+					}
+				})
+				.recordStats()
+				.build();
+	}
+
+}
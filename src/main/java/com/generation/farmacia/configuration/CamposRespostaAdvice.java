@@ -0,0 +1,71 @@
+package com.generation.farmacia.configuration;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import com.generation.farmacia.controller.CategoriaController;
+import com.generation.farmacia.controller.ProdutoController;
+import com.generation.farmacia.model.ProdutoResumo;
+
+// Listagens enxutas: ?campos=id,nome,preco mantém apenas esses campos de cada ProdutoResumo
+// (em GET /produtos, /produtos/pagina, /produtos/descricao e /categorias/resumo)
+// O filtro é aplicado pelo próprio Jackson durante a serialização, sem montar outros objetos.
+// Campo desconhecido → 400 Bad Request
+@ControllerAdvice
+public class CamposRespostaAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+	public static final String PARAMETRO = "campos";
+
+	// Apenas as respostas do catálogo (não as páginas de erro nem os demais controllers)
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		Class<?> controller = returnType.getContainingClass();
+		return super.supports(returnType, converterType)
+				&& (controller == ProdutoController.class || controller == CategoriaController.class);
+	}
+
+	@Override
+	protected void beforeBodyWriteInternal(MappingJacksonValue corpo, MediaType contentType,
+			MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+
+		if (!(request instanceof ServletServerHttpRequest requisicao)) {
+			return;
+		}
+
+		String campos = requisicao.getServletRequest().getParameter(PARAMETRO);
+
+		if (campos == null || campos.isBlank()) {
+			return;
+		}
+
+		corpo.setFilters(JacksonConfig.filtros(lerCampos(campos)));
+	}
+
+	private static Set<String> lerCampos(String campos) {
+
+		Set<String> selecionados = new LinkedHashSet<>();
+
+		for (String campo : Arrays.stream(campos.split(",")).map(String::trim).filter(c -> !c.isEmpty()).toList()) {
+			if (!ProdutoResumo.CAMPOS.contains(campo)) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+						"Campo inválido: " + campo + "! Use " + String.join(", ", ProdutoResumo.CAMPOS) + ".");
+			}
+			selecionados.add(campo);
+		}
+
+		return selecionados;
+	}
+}
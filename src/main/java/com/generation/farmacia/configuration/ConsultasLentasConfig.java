@@ -0,0 +1,72 @@
+package com.generation.farmacia.configuration;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Log de consultas lentas (substitui o spring.jpa.show-sql)
+// consultas.lentas.limite → duração mínima para o comando SQL ser registrado
+// consultas.lentas.amostragem → fração (0.0 a 1.0) das consultas lentas que são registradas
+@Configuration
+public class ConsultasLentasConfig implements WebMvcConfigurer {
+
+	// Estático: o BeanPostProcessor precisa existir antes dos demais beans da configuração
+	@Bean
+	static BeanPostProcessor consultasLentasPostProcessor(
+			@Value("${consultas.lentas.limite:500ms}") Duration limite,
+			@Value("${consultas.lentas.amostragem:1.0}") double amostragem) {
+
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String nome) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof ConsultasLentasDataSource)) {
+					return new ConsultasLentasDataSource(dataSource, limite, amostragem);
+				}
+				return bean;
+			}
+		};
+	}
+
+	// Identifica o método do controller no MDC, para o log informar de onde veio a consulta
+	// Respostas assíncronas liberam a thread sem passar pelo afterCompletion (ele só roda no dispatch
+	// ASYNC, em outra thread), então o MDC também é limpo em afterConcurrentHandlingStarted
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new AsyncHandlerInterceptor() {
+
+			@Override
+			public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+				if (handler instanceof HandlerMethod metodo) {
+					MDC.put(ConsultasLentasDataSource.MDC_ENDPOINT,
+							metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName());
+				}
+				return true;
+			}
+
+			@Override
+			public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+					Exception ex) {
+				MDC.remove(ConsultasLentasDataSource.MDC_ENDPOINT);
+			}
+
+			@Override
+			public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+					Object handler) {
+				MDC.remove(ConsultasLentasDataSource.MDC_ENDPOINT);
+			}
+		});
+	}
+}
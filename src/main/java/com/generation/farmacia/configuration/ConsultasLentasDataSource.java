@@ -0,0 +1,129 @@
+package com.generation.farmacia.configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// DataSource que mede o tempo de execução de cada comando SQL e registra as consultas lentas
+// Substitui o spring.jpa.show-sql (que escrevia todo SQL no stdout): apenas comandos acima do
+// limite configurado são registrados, com amostragem opcional, valores literais ocultados
+// (parâmetros "?" nunca são registrados) e o método do controller que originou a consulta.
+// O registro vai para o logger "farmacia.consultas-lentas", com saída assíncrona (logback-spring.xml).
+public class ConsultasLentasDataSource extends DelegatingDataSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger("farmacia.consultas-lentas");
+
+	// Chave do MDC com o controller/método que está atendendo a requisição
+	public static final String MDC_ENDPOINT = "endpoint";
+
+	// Textos entre aspas e números soltos no SQL (valores literais)
+	private static final Pattern TEXTOS = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern NUMEROS = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+	private final long limiteNanos;
+	private final double amostragem;
+
+	public ConsultasLentasDataSource(DataSource alvo, Duration limite, double amostragem) {
+		super(alvo);
+		this.limiteNanos = limite.toNanos();
+		this.amostragem = amostragem;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return monitorar(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String usuario, String senha) throws SQLException {
+		return monitorar(super.getConnection(usuario, senha));
+	}
+
+	// Substitui literais por "?" para que dados (e-mails, nomes, valores) não apareçam no log
+	static String ocultarValores(String sql) {
+		if (sql == null) {
+			return "";
+		}
+		String semTextos = TEXTOS.matcher(sql).replaceAll("?");
+		return NUMEROS.matcher(semTextos).replaceAll("?").replaceAll("\\s+", " ").trim();
+	}
+
+	// Envolve a conexão para que os Statements criados por ela também sejam medidos
+	private Connection monitorar(Connection conexao) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+				(proxy, metodo, argumentos) -> {
+					Object resultado = invocar(conexao, metodo, argumentos);
+
+					if (resultado instanceof Statement statement) {
+						String sql = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto
+								? texto : null;
+						return monitorar(statement, sql, tipoStatement(metodo));
+					}
+
+					return resultado;
+				});
+	}
+
+	// Mede os métodos execute* (executeQuery, executeUpdate, executeBatch...) do Statement
+	private Statement monitorar(Statement statement, String sqlPreparado, Class<? extends Statement> tipo) {
+		return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { tipo },
+				(proxy, metodo, argumentos) -> {
+					if (!metodo.getName().startsWith("execute")) {
+						return invocar(statement, metodo, argumentos);
+					}
+
+					long inicio = System.nanoTime();
+					try {
+						return invocar(statement, metodo, argumentos);
+					} finally {
+						String sql = sqlPreparado != null ? sqlPreparado
+								: argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto
+										? texto : null;
+						registrar(sql, System.nanoTime() - inicio);
+					}
+				});
+	}
+
+	private void registrar(String sql, long duracaoNanos) {
+
+		if (duracaoNanos < limiteNanos || ThreadLocalRandom.current().nextDouble() >= amostragem) {
+			return;
+		}
+
+		String endpoint = MDC.get(MDC_ENDPOINT);
+
+		LOGGER.warn("consulta_lenta duracao_ms={} endpoint={} sql=\"{}\"",
+				duracaoNanos / 1_000_000, endpoint == null ? "-" : endpoint, ocultarValores(sql));
+	}
+
+	private static Class<? extends Statement> tipoStatement(Method metodo) {
+		return switch (metodo.getName()) {
+			case "prepareCall" -> CallableStatement.class;
+			case "prepareStatement" -> PreparedStatement.class;
+			default -> Statement.class;
+		};
+	}
+
+	private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+		try {
+			return metodo.invoke(alvo, argumentos);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
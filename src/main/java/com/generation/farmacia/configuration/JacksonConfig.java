@@ -0,0 +1,31 @@
+package com.generation.farmacia.configuration;
+
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.generation.farmacia.model.ProdutoResumo;
+
+@Configuration
+public class JacksonConfig {
+
+	// Sem o parâmetro "campos" os filtros (@JsonFilter) não removem nenhum campo
+	@Bean
+	Jackson2ObjectMapperBuilderCustomizer filtrosDeCampos() {
+		return builder -> builder.filters(filtros(null));
+	}
+
+	// Filtros que mantêm apenas os campos informados do ProdutoResumo (null → todos os campos)
+	public static FilterProvider filtros(Set<String> camposProduto) {
+		return new SimpleFilterProvider()
+				.setFailOnUnknownId(false)
+				.addFilter(ProdutoResumo.FILTRO, camposProduto == null
+						? SimpleBeanPropertyFilter.serializeAll()
+						: SimpleBeanPropertyFilter.filterOutAllExcept(camposProduto));
+	}
+}
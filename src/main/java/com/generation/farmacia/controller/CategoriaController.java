@@ -9,6 +9,9 @@ import java.util.Optional;
 
 //====================== IMPORTAÇÕES DO SPRING ======================
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -18,14 +21,26 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 //Anotações e classes do Spring para criar endpoints REST, manipular respostas e lançar erros HTTP
 
 import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.CategoriaResumo;
+import com.generation.farmacia.model.Pagina;
+import com.generation.farmacia.model.Produto;
 import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.service.CatalogoCacheService;
+import com.generation.farmacia.service.CategoriaService;
+import com.generation.farmacia.service.EstoqueService;
+import com.generation.farmacia.service.ProdutoBuscaService;
+import com.generation.farmacia.service.ProdutoService;
+import com.generation.farmacia.util.RequisicaoCondicional;
 
 //====================== IMPORTAÇÕES DE VALIDAÇÃO ======================
 import jakarta.validation.Valid;
@@ -44,14 +59,41 @@ public class CategoriaController {
  // Injeta automaticamente o repositório de categorias
  private CategoriaRepository categoriaRepository;
 
+ @Autowired 
+ // Injeta o serviço de categorias (regras de paginação e gravação com o feed de alterações)
+ private CategoriaService categoriaService;
+
+ @Autowired 
+ // Injeta o índice de busca de produtos (produtos removidos em cascata saem do índice)
+ private ProdutoBuscaService produtoBuscaService;
+
+ @Autowired 
+ // Injeta o serviço de estoque (o saldo em memória dos produtos removidos em cascata é descartado)
+ private EstoqueService estoqueService;
+
+ @Autowired 
+ // Injeta o serviço que invalida o cache de leitura do catálogo
+ private CatalogoCacheService catalogoCacheService;
+
+ @Autowired 
+ // Injeta o serviço de produtos (versão do catálogo usada no ETag da listagem)
+ private ProdutoService produtoService;
+
  // ==============================================
  // MÉTODO 1: LISTAR TODAS AS CATEGORIAS
  // ==============================================
  @GetMapping
  // GET /categorias
- public ResponseEntity<List<Categoria>> getAll() {
-     // Retorna 200 OK + lista completa de categorias
-     return ResponseEntity.ok(categoriaRepository.findAll());
+ public ResponseEntity<List<Categoria>> getAll(WebRequest requisicao) {
+     // ETag calculado pela versão do catálogo (as categorias embutem os produtos): se o cliente já
+     // tem esta versão (If-None-Match) retorna 304 Not Modified sem consultar nem serializar as categorias
+     if(requisicao.checkNotModified(RequisicaoCondicional.etag("categorias", produtoService.versaoCatalogo()))) {
+         return null;
+     }
+     // Retorna 200 OK + lista completa de categorias (no-cache → o cliente revalida com o ETag a cada uso)
+     return ResponseEntity.ok()
+             .cacheControl(CacheControl.noCache())
+             .body(categoriaRepository.findAll());
  }
 
  // ==============================================
@@ -59,12 +101,21 @@ public class CategoriaController {
  // ==============================================
  @GetMapping("/{id}")
  // GET /categorias/{id}
- public ResponseEntity<Categoria> getById(@PathVariable Long id) {
-     // Busca categoria pelo ID
-     // Retorna 200 OK se encontrada, ou 404 Not Found se não existir
-     return categoriaRepository.findById(id)
-             .map(resposta -> ResponseEntity.ok(resposta))
-             .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+ public ResponseEntity<Categoria> getById(@PathVariable Long id, WebRequest requisicao) {
+     // Busca categoria pelo ID (através do cache), retorna 404 Not Found se não existir
+     Optional<Categoria> categoria = categoriaService.buscarPorId(id);
+     if(categoria.isEmpty()) {
+         return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+     }
+     // ETag (versão da categoria e dos seus produtos): se o cliente já tem esta versão (If-None-Match)
+     // retorna 304 Not Modified sem serializar a categoria
+     if(requisicao.checkNotModified(RequisicaoCondicional.etag(categoria.get()))) {
+         return null;
+     }
+     // Retorna 200 OK + categoria (no-cache → o cliente revalida com o ETag a cada uso)
+     return ResponseEntity.ok()
+             .cacheControl(CacheControl.noCache())
+             .body(categoria.get());
  }
 
  // ==============================================
@@ -87,9 +138,12 @@ public class CategoriaController {
  public ResponseEntity<Categoria> post(@Valid @RequestBody Categoria categoria) {
      // Garante que será criado um novo registro
      categoria.setId(null);
-     // Salva a categoria e retorna 201 Created
+     categoria.setVersao(null); // Com uma versão preenchida o Spring Data trataria a categoria como existente
+     // Salva a categoria (com o evento do feed de alterações), invalida o cache e retorna 201 Created
+     Categoria salva = categoriaService.salvar(categoria);
+     catalogoCacheService.categoriaAlterada(salva.getId());
      return ResponseEntity.status(HttpStatus.CREATED)
-             .body(categoriaRepository.save(categoria));
+             .body(salva);
  }
 
  // ==============================================
@@ -97,12 +151,29 @@ public class CategoriaController {
  // ==============================================
  @PutMapping
  // PUT /categorias
- public ResponseEntity<Categoria> put(@Valid @RequestBody Categoria categoria) {
+ public ResponseEntity<Categoria> put(@Valid @RequestBody Categoria categoria,
+         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
      // Verifica se a categoria existe pelo ID
-     return categoriaRepository.findById(categoria.getId())
-         .map(resposta -> ResponseEntity.status(HttpStatus.OK)
-         .body(categoriaRepository.save(categoria))) // Atualiza e retorna 200 OK
-         .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build()); // Se não existir → 404
+     Optional<Categoria> atual = categoria.getId() == null ? Optional.empty() : categoriaService.buscarPorId(categoria.getId());
+     if(atual.isEmpty()) {
+         return ResponseEntity.status(HttpStatus.NOT_FOUND).build(); // Se não existir → 404
+     }
+     // If-Match com um ETag desatualizado → 412 Precondition Failed
+     RequisicaoCondicional.verificarIfMatch(ifMatch, RequisicaoCondicional.etag(atual.get()));
+     // Sem a versão no corpo, a atualização parte da versão atual
+     if(categoria.getVersao() == null) {
+         categoria.setVersao(atual.get().getVersao());
+     }
+     Categoria salva;
+     try {
+         salva = categoriaService.salvar(categoria); // Grava também o evento do feed de alterações
+     } catch(OptimisticLockingFailureException e) {
+         // A versão enviada não é mais a atual (outra requisição alterou a categoria antes) → 409 Conflict
+         throw new ResponseStatusException(HttpStatus.CONFLICT,
+             "A categoria foi alterada por outra requisição! Busque a versão atual e tente novamente.");
+     }
+     catalogoCacheService.categoriaAlterada(salva.getId()); // Invalida o cache
+     return ResponseEntity.status(HttpStatus.OK).body(salva); // Atualiza e retorna 200 OK
  }
 
  // ==============================================
@@ -113,10 +184,39 @@ public class CategoriaController {
  @DeleteMapping("/{id}")
  // DELETE /categorias/{id}
  public void delete(@PathVariable Long id) {
-     Optional<Categoria> categoria = categoriaRepository.findById(id);
+     // Lida direto do banco (sem o cache), para ter a lista atual de produtos da categoria
+     Optional<Categoria> categoria = categoriaRepository.findComProdutosById(id);
      if(categoria.isEmpty()) // Se não encontrada → lança 404
          throw new ResponseStatusException(HttpStatus.NOT_FOUND);
-     // Se encontrada → deleta do banco
-     categoriaRepository.deleteById(id);
+     // Guarda os IDs dos produtos que serão removidos em cascata junto com a categoria
+     List<Long> produtos = categoria.get().getProdutos().stream().map(Produto::getId).toList();
+     // Se encontrada → deleta do banco (com os eventos do feed de alterações)
+     categoriaService.excluir(id, produtos);
+     produtos.forEach(produtoBuscaService::remover);
+     produtos.forEach(estoqueService::descartar); // O estoque do banco é removido em cascata; descarta o saldo em memória
+     catalogoCacheService.categoriaAlterada(id); // Invalida o cache
+ }
+
+ // ==============================================
+ // MÉTODO 7: LISTAR CATEGORIAS PAGINADAS (CURSOR)
+ // ==============================================
+ @GetMapping("/pagina")
+ // GET /categorias/pagina?cursor=&tamanho=20
+ public ResponseEntity<Pagina<Categoria>> getPagina(
+         @RequestParam(required = false) String cursor,
+         @RequestParam(defaultValue = "" + Pagina.TAMANHO_PADRAO) int tamanho) {
+     // Retorna 200 OK + uma página de categorias e o cursor da próxima página (null na última)
+     return ResponseEntity.ok(categoriaService.listarPagina(cursor, tamanho));
+ }
+ 
+ // ==============================================
+ // MÉTODO 8: LISTAR RESUMO DAS CATEGORIAS
+ // ==============================================
+ @GetMapping("/resumo")
+ // GET /categorias/resumo?produtos=0&campos=
+ public ResponseEntity<List<CategoriaResumo>> getResumo(@RequestParam(defaultValue = "0") int produtos) {
+     // Retorna 200 OK + id, descrição, quantidade de produtos e faixa de preço de cada categoria,
+     // sem carregar os produtos; "produtos" inclui até N produtos de exemplo por categoria
+     return ResponseEntity.ok(categoriaService.listarResumos(produtos));
  }
 }
@@ -0,0 +1,113 @@
+package com.generation.farmacia.controller;//Pacote onde o controlador de estoque está localizado
+
+//====================== IMPORTAÇÕES DE UTILIDADES ======================
+import java.util.UUID;
+
+//====================== IMPORTAÇÕES DO SPRING ======================
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.generation.farmacia.model.QuantidadeEstoque;
+import com.generation.farmacia.model.ReservaEstoque;
+import com.generation.farmacia.model.SaldoEstoque;
+import com.generation.farmacia.service.EstoqueService;
+import com.generation.farmacia.service.ProdutoService;
+
+//====================== IMPORTAÇÕES DE VALIDAÇÃO ======================
+import jakarta.validation.Valid;
+
+//====================== CONTROLADOR ======================
+@RestController
+//Controller REST do estoque de cada produto
+@RequestMapping("/produtos/{produtoId}/estoque")
+//Define o caminho base da rota como /produtos/{produtoId}/estoque
+@CrossOrigin(origins ="*", allowedHeaders = "*")
+//Permite que a API seja acessada de qualquer origem (CORS)
+public class EstoqueController {
+
+ @Autowired
+ // Injeta o serviço de produtos (para validar se o produto existe)
+ private ProdutoService produtoService;
+
+ @Autowired
+ // Injeta o serviço de estoque (reservas em memória e gravação em lote)
+ private EstoqueService estoqueService;
+
+ // ==============================================
+ // MÉTODO 1: CONSULTAR ESTOQUE
+ // ==============================================
+ @GetMapping
+ // GET /produtos/{produtoId}/estoque
+ public ResponseEntity<SaldoEstoque> getSaldo(@PathVariable Long produtoId) {
+     verificarProduto(produtoId);
+     // Retorna 200 OK + quantidade física, disponível e reservada
+     return ResponseEntity.ok(estoqueService.saldo(produtoId));
+ }
+
+ // ==============================================
+ // MÉTODO 2: DEFINIR QUANTIDADE EM ESTOQUE
+ // ==============================================
+ @PutMapping
+ // PUT /produtos/{produtoId}/estoque  { "quantidade": 100 }
+ public ResponseEntity<SaldoEstoque> putQuantidade(@PathVariable Long produtoId,
+         @Valid @RequestBody QuantidadeEstoque quantidade) {
+     verificarProduto(produtoId);
+     // Quantidade menor que a reservada → 409 Conflict
+     return ResponseEntity.ok(estoqueService.definirQuantidade(produtoId, quantidade.quantidade()));
+ }
+
+ // ==============================================
+ // MÉTODO 3: RESERVAR ESTOQUE
+ // ==============================================
+ @PostMapping("/reservas")
+ // POST /produtos/{produtoId}/estoque/reservas  { "quantidade": 2 }
+ public ResponseEntity<ReservaEstoque> postReserva(@PathVariable Long produtoId,
+         @Valid @RequestBody QuantidadeEstoque quantidade) {
+     verificarProduto(produtoId);
+     // Retorna 201 Created + reserva (com o ID usado na confirmação ou no cancelamento)
+     // Estoque insuficiente → 409 Conflict
+     return ResponseEntity.status(HttpStatus.CREATED)
+             .body(estoqueService.reservar(produtoId, quantidade.quantidade()));
+ }
+
+ // ==============================================
+ // MÉTODO 4: CONFIRMAR RESERVA (COMPRA CONCLUÍDA)
+ // ==============================================
+ @ResponseStatus(HttpStatus.NO_CONTENT)
+ @PostMapping("/reservas/{reservaId}/confirmar")
+ // POST /produtos/{produtoId}/estoque/reservas/{reservaId}/confirmar
+ public void confirmar(@PathVariable Long produtoId, @PathVariable UUID reservaId) {
+     // A quantidade reservada sai do estoque; reserva inexistente, já confirmada ou expirada → 404 Not Found
+     estoqueService.confirmar(produtoId, reservaId);
+ }
+
+ // ==============================================
+ // MÉTODO 5: LIBERAR RESERVA (COMPRA CANCELADA)
+ // ==============================================
+ @ResponseStatus(HttpStatus.NO_CONTENT)
+ @DeleteMapping("/reservas/{reservaId}")
+ // DELETE /produtos/{produtoId}/estoque/reservas/{reservaId}
+ public void liberar(@PathVariable Long produtoId, @PathVariable UUID reservaId) {
+     // A quantidade reservada volta a ficar disponível; reserva inexistente → 404 Not Found
+     estoqueService.liberar(produtoId, reservaId);
+ }
+
+ // Produto inexistente → 404 Not Found (consulta através do cache de produtos)
+ private void verificarProduto(Long produtoId) {
+     if(produtoService.buscarPorId(produtoId).isEmpty()) {
+         throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado!");
+     }
+ }
+}
@@ -0,0 +1,105 @@
+package com.generation.farmacia.controller;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.generation.farmacia.model.EstatisticasCache;
+import com.generation.farmacia.model.EstatisticasConexoes;
+import com.generation.farmacia.model.EstatisticasSenhas;
+import com.generation.farmacia.security.PasswordEncoderLimitado;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+@RestController
+@RequestMapping("/monitoramento")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+public class MonitoramentoController {
+
+	@Autowired
+	private CacheManager cacheManager;
+	
+	@Autowired
+	private PasswordEncoderLimitado passwordEncoder;
+	
+	@Autowired
+	private DataSource dataSource;
+	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	@GetMapping("/cache")
+	public ResponseEntity<Map<String, EstatisticasCache>> getCache(){
+		
+		Map<String, EstatisticasCache> estatisticas = new TreeMap<>();
+		
+		for (String nome : cacheManager.getCacheNames()) {
+			if (cacheManager.getCache(nome) instanceof CaffeineCache cache) {
+				CacheStats stats = cache.getNativeCache().stats();
+				estatisticas.put(nome, new EstatisticasCache(stats.hitCount(), stats.missCount(),
+						stats.hitRate(), stats.evictionCount(), cache.getNativeCache().estimatedSize()));
+			}
+		}
+		
+		return ResponseEntity.ok(estatisticas);
+	}
+	
+	@GetMapping("/senhas")
+	public ResponseEntity<EstatisticasSenhas> getSenhas(){
+		return ResponseEntity.ok(passwordEncoder.getEstatisticas());
+	}
+	
+	@GetMapping("/conexoes")
+	public ResponseEntity<EstatisticasConexoes> getConexoes(){
+		
+		HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+		
+		// Pool ainda não iniciado (nenhuma conexão foi pedida) ou DataSource que não é Hikari
+		if (hikari == null || hikari.getHikariPoolMXBean() == null) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+		}
+		
+		HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+		
+		// Tempo de espera por uma conexão (timer registrado pelo Micrometer para o pool)
+		Timer aquisicao = meterRegistry.find("hikaricp.connections.acquire").tag("pool", hikari.getPoolName()).timer();
+		HistogramSnapshot tempos = aquisicao == null ? HistogramSnapshot.empty(0, 0, 0) : aquisicao.takeSnapshot();
+		
+		return ResponseEntity.ok(new EstatisticasConexoes(hikari.getPoolName(), pool.getActiveConnections(),
+				pool.getIdleConnections(), pool.getTotalConnections(), pool.getThreadsAwaitingConnection(),
+				hikari.getMaximumPoolSize(), hikari.getMinimumIdle(), tempos.count(),
+				tempos.mean(TimeUnit.MILLISECONDS), tempos.max(TimeUnit.MILLISECONDS),
+				percentil(tempos, 0.5), percentil(tempos, 0.95), percentil(tempos, 0.99)));
+	}
+	
+	// Percentil calculado pelo histograma do timer (0 se não estiver configurado)
+	private double percentil(HistogramSnapshot tempos, double percentil) {
+		for (ValueAtPercentile valor : tempos.percentileValues()) {
+			if (valor.percentile() == percentil) {
+				return valor.value(TimeUnit.MILLISECONDS);
+			}
+		}
+		return 0;
+	}
+}
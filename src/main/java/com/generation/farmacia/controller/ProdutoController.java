@@ -1,14 +1,22 @@
 package com.generation.farmacia.controller;//Pacote onde o controlador de produtos está localizado
 
 //====================== IMPORTAÇÕES DE UTILIDADES ======================
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional; 
+import java.util.concurrent.CompletableFuture;
 //List → para listas de produtos
 //Optional → para tratar resultados que podem estar vazios (ex.: buscar por ID)
 
 //====================== IMPORTAÇÕES DO SPRING ======================
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,15 +25,34 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 //Classes e anotações para criar endpoints REST, manipular requisições/respostas e tratar exceções HTTP
 
+import com.generation.farmacia.model.AlteracoesCatalogo;
+import com.generation.farmacia.model.FiltroProdutos;
+import com.generation.farmacia.model.FormatoCatalogo;
+import com.generation.farmacia.model.Pagina;
 import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.ProdutoLote;
+import com.generation.farmacia.model.ProdutoResumo;
+import com.generation.farmacia.model.ResultadoImportacao;
 import com.generation.farmacia.repository.CategoriaRepository;
 import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.service.CatalogoCacheService;
+import com.generation.farmacia.service.EstoqueService;
+import com.generation.farmacia.service.EventoCatalogoService;
+import com.generation.farmacia.service.ProdutoBuscaService;
+import com.generation.farmacia.service.ProdutoExportacaoService;
+import com.generation.farmacia.service.ProdutoImportacaoService;
+import com.generation.farmacia.service.ProdutoService;
+import com.generation.farmacia.util.RequisicaoCondicional;
 
 //====================== IMPORTAÇÕES DE VALIDAÇÃO ======================
 import jakarta.validation.Valid;
@@ -48,14 +75,50 @@ public class ProdutoController {
  // Injeta o repositório de categorias (para validação da categoria do produto)
  private CategoriaRepository categoriaRepository;
  
+ @Autowired 
+ // Injeta o serviço de produtos (regras de paginação e gravação com o feed de alterações)
+ private ProdutoService produtoService;
+ 
+ @Autowired 
+ // Injeta o índice de busca textual de produtos
+ private ProdutoBuscaService produtoBuscaService;
+ 
+ @Autowired 
+ // Injeta o serviço que invalida o cache de leitura do catálogo
+ private CatalogoCacheService catalogoCacheService;
+ 
+ @Autowired 
+ // Injeta o serviço de importação em lote de produtos
+ private ProdutoImportacaoService produtoImportacaoService;
+ 
+ @Autowired 
+ // Injeta o serviço de exportação do catálogo de produtos
+ private ProdutoExportacaoService produtoExportacaoService;
+ 
+ @Autowired 
+ // Injeta o serviço de estoque (descarta o saldo em memória do produto excluído)
+ private EstoqueService estoqueService;
+ 
+ @Autowired 
+ // Injeta o serviço do feed de alterações do catálogo
+ private EventoCatalogoService eventoCatalogoService;
+ 
  // ==============================================
  // MÉTODO 1: LISTAR TODOS OS PRODUTOS
  // ==============================================
  @GetMapping
- // GET /produtos
- public ResponseEntity<List<Produto>> getAll() {
-     // Retorna 200 OK + lista de todos os produtos
-     return ResponseEntity.ok(produtoRepository.findAll());
+ // GET /produtos?campos=id,nome,preco (campos opcional → CamposRespostaAdvice)
+ public ResponseEntity<List<ProdutoResumo>> getAll(WebRequest requisicao) {
+     // ETag calculado pela versão do catálogo: se o cliente já tem esta versão (If-None-Match)
+     // retorna 304 Not Modified sem consultar nem serializar os produtos
+     if(requisicao.checkNotModified(RequisicaoCondicional.etag("produtos", produtoService.versaoCatalogo()))) {
+         return null;
+     }
+     // Retorna 200 OK + lista de todos os produtos (produtos e categorias lidos em uma única consulta)
+     // no-cache → o cliente guarda a resposta, mas revalida com o ETag a cada uso
+     return ResponseEntity.ok()
+             .cacheControl(CacheControl.noCache())
+             .body(produtoRepository.findAllResumos());
  }
  
  // ==============================================
@@ -63,21 +126,35 @@ public class ProdutoController {
  // ==============================================
  @GetMapping("/{id}")
  // GET /produtos/{id}
- public ResponseEntity<Produto> getById(@PathVariable Long id) {
-     // Busca produto pelo ID, retorna 200 OK se encontrado ou 404 Not Found se não existir
-     return produtoRepository.findById(id)
-             .map(resposta -> ResponseEntity.ok(resposta))
-             .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+ public ResponseEntity<Produto> getById(@PathVariable Long id, WebRequest requisicao) {
+     // Busca produto pelo ID (através do cache), retorna 404 Not Found se não existir
+     Optional<Produto> produto = produtoService.buscarPorId(id);
+     if(produto.isEmpty()) {
+         return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+     }
+     // ETag (versão do produto e da categoria) e Last-Modified: se o cliente já tem esta versão
+     // (If-None-Match / If-Modified-Since) retorna 304 Not Modified sem serializar o produto
+     if(requisicao.checkNotModified(RequisicaoCondicional.etag(produto.get()),
+             RequisicaoCondicional.ultimaAlteracao(produto.get()))) {
+         return null;
+     }
+     // Retorna 200 OK + produto (no-cache → o cliente revalida com o ETag a cada uso)
+     return ResponseEntity.ok()
+             .cacheControl(CacheControl.noCache())
+             .body(produto.get());
  }
  
  // ==============================================
- // MÉTODO 3: BUSCAR PRODUTOS POR TÍTULO
+ // MÉTODO 3: BUSCAR PRODUTOS POR TEXTO
  // ==============================================
  @GetMapping("/descricao/{descricao}")
- // GET /produtos/descricao/{descricao}
- public ResponseEntity<List<Produto>> getAllByDescricao(@PathVariable String descricao) {
-     // Busca produtos cujo título contenha a string informada (case insensitive)
-     return ResponseEntity.ok(produtoRepository.findAllByDescricaoContainingIgnoreCase(descricao));
+ // GET /produtos/descricao/{descricao}?pagina=0&tamanho=20&campos=
+ public ResponseEntity<List<ProdutoResumo>> getAllByDescricao(@PathVariable String descricao,
+         @RequestParam(defaultValue = "0") int pagina,
+         @RequestParam(defaultValue = "" + Pagina.TAMANHO_PADRAO) int tamanho) {
+     // Busca no índice produtos cujo nome ou descrição tenham palavras começando com os termos
+     // informados (sem diferenciar maiúsculas/minúsculas nem acentos), ordenados por relevância
+     return ResponseEntity.ok(produtoBuscaService.buscar(descricao, pagina, tamanho));
  }
  
  // ==============================================
@@ -93,8 +170,12 @@ public class ProdutoController {
          );
      }
      produto.setId(null); // Garante que será criado um novo registro
+     produto.setVersao(null); // Com uma versão preenchida o Spring Data trataria o produto como existente
+     Produto salvo = produtoService.salvar(produto); // Grava também o evento do feed de alterações
+     produtoBuscaService.indexar(salvo); // Inclui o novo produto no índice de busca
+     catalogoCacheService.produtoAlterado(salvo.getId(), produto.getCategoria().getId()); // Invalida o cache
      return ResponseEntity.status(HttpStatus.CREATED)
-             .body(produtoRepository.save(produto)); // Salva e retorna 201 Created
+             .body(salvo); // Retorna 201 Created
  }
  
  // ==============================================
@@ -102,19 +183,40 @@ public class ProdutoController {
  // ==============================================
  @PutMapping
  // PUT /produtos
- public ResponseEntity<Produto> put(@Valid @RequestBody Produto produto) {
-     // Verifica se o produto existe
-     if(!produtoRepository.existsById(produto.getId())) {
+ public ResponseEntity<Produto> put(@Valid @RequestBody Produto produto,
+         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+     // Verifica se o produto existe (e guarda a categoria atual para invalidar o cache)
+     Optional<Produto> atual = produto.getId() == null ? Optional.empty() : produtoService.buscarPorId(produto.getId());
+     if(atual.isEmpty()) {
          return ResponseEntity.notFound().build(); // 404 Not Found
      }
+     // If-Match com um ETag desatualizado → 412 Precondition Failed
+     RequisicaoCondicional.verificarIfMatch(ifMatch, RequisicaoCondicional.etag(atual.get()));
+     // Sem a versão no corpo, a atualização parte da versão atual
+     if(produto.getVersao() == null) {
+         produto.setVersao(atual.get().getVersao());
+     }
      // Valida se a categoria existe
      if(!categoriaRepository.existsById(produto.getCategoria().getId())) {
          throw new ResponseStatusException(
              HttpStatus.BAD_REQUEST, "A categoria informada não existe!"
          );
      }
+     Produto salvo;
+     try {
+         salvo = produtoService.salvar(produto); // Grava também o evento do feed de alterações
+     } catch(OptimisticLockingFailureException e) {
+         // A versão enviada não é mais a atual (outra requisição alterou o produto antes) → 409 Conflict
+         throw new ResponseStatusException(HttpStatus.CONFLICT,
+             "O produto foi alterado por outra requisição! Busque a versão atual e tente novamente.");
+     }
+     produtoBuscaService.indexar(salvo); // Atualiza os termos do produto no índice de busca
+     catalogoCacheService.produtoAlterado(salvo.getId(), 
+             atual.get().getCategoria() == null ? null : atual.get().getCategoria().getId(),
+             produto.getCategoria().getId()); // Invalida o cache
      return ResponseEntity.status(HttpStatus.OK)
-             .body(produtoRepository.save(produto)); // Atualiza e retorna 200 OK
+             .eTag(RequisicaoCondicional.etag(salvo))
+             .body(salvo); // Atualiza e retorna 200 OK
  }
  
  // ==============================================
@@ -125,10 +227,99 @@ public class ProdutoController {
  @DeleteMapping("/{id}")
  // DELETE /produtos/{id}
  public void delete(@PathVariable Long id) {
-     Optional<Produto> produto = produtoRepository.findById(id);
+     Optional<Produto> produto = produtoService.buscarPorId(id);
      if(produto.isEmpty()) // Se produto não existe → 404 Not Found
          throw new ResponseStatusException(HttpStatus.NOT_FOUND);
      
-     produtoRepository.deleteById(id); // Se existe → deleta do banco
+     produtoService.excluir(id); // Se existe → deleta do banco (com o evento do feed de alterações)
+     produtoBuscaService.remover(id); // Remove o produto do índice de busca
+     estoqueService.descartar(id); // O estoque do banco é removido em cascata; descarta o saldo em memória
+     catalogoCacheService.produtoAlterado(id, produto.get().getCategoria() == null 
+             ? null : produto.get().getCategoria().getId()); // Invalida o cache
+ }
+ 
+ // ==============================================
+ // MÉTODO 7: LISTAR PRODUTOS PAGINADOS (CURSOR)
+ // ==============================================
+ @GetMapping("/pagina")
+ // GET /produtos/pagina?cursor=&tamanho=20&ordem=id|nome|preco&campos=
+ public ResponseEntity<Pagina<ProdutoResumo>> getPagina(
+         @RequestParam(required = false) String cursor,
+         @RequestParam(defaultValue = "" + Pagina.TAMANHO_PADRAO) int tamanho,
+         @RequestParam(defaultValue = ProdutoService.ORDEM_ID) String ordem) {
+     // Retorna 200 OK + uma página de produtos e o cursor da próxima página (null na última)
+     return ResponseEntity.ok(produtoService.listarPagina(cursor, tamanho, ordem));
+ }
+ 
+ // ==============================================
+ // MÉTODO 8: IMPORTAR PRODUTOS EM LOTE
+ // ==============================================
+ @PostMapping(value = "/importar", consumes = { FormatoCatalogo.NDJSON_VALUE, FormatoCatalogo.CSV_VALUE })
+ // POST /produtos/importar (Content-Type: application/x-ndjson ou text/csv)
+ public ResponseEntity<ResultadoImportacao> importar(
+         @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream corpo) throws IOException {
+     // Um produto por linha (NDJSON) ou um CSV com cabeçalho nome,descricao,preco,foto,categoria
+     FormatoCatalogo formato = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(FormatoCatalogo.CSV_VALUE))
+             ? FormatoCatalogo.CSV : FormatoCatalogo.NDJSON;
+     // Retorna 200 OK + total de produtos importados e as linhas rejeitadas com o motivo
+     return ResponseEntity.ok(produtoImportacaoService.importar(corpo, formato));
+ }
+ 
+ // ==============================================
+ // MÉTODO 9: EXPORTAR O CATÁLOGO COMPLETO
+ // ==============================================
+ @GetMapping("/exportar")
+ // GET /produtos/exportar?formato=json|ndjson|csv
+ public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "json") String formato) {
+     FormatoCatalogo formatoExportacao = FormatoCatalogo.de(formato); // Formato inválido → 400 Bad Request
+     // Retorna 200 OK e escreve os produtos na resposta à medida que são lidos do banco (sem montar uma lista)
+     return ResponseEntity.ok()
+             .contentType(MediaType.parseMediaType(formatoExportacao.getMediaType()))
+             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=produtos." + formatoExportacao.getExtensao())
+             .body(saida -> produtoExportacaoService.exportar(formatoExportacao, saida));
+ }
+ 
+ // ==============================================
+ // MÉTODO 10: FILTRAR PRODUTOS (CATEGORIA, PREÇO E NOME)
+ // ==============================================
+ @GetMapping("/filtro")
+ // GET /produtos/filtro?categorias=1,2&precoMinimo=10&precoMaximo=50&nome=dip&ordem=preco&cursor=&tamanho=20
+ public ResponseEntity<Pagina<ProdutoResumo>> getFiltrados(FiltroProdutos filtro,
+         @RequestParam(required = false) String cursor,
+         @RequestParam(defaultValue = "" + Pagina.TAMANHO_PADRAO) int tamanho,
+         @RequestParam(defaultValue = ProdutoService.ORDEM_ID) String ordem) {
+     // Todos os filtros são opcionais; retorna 200 OK + uma página dos produtos que atendem a todos eles
+     // e o cursor da próxima página (null na última)
+     return ResponseEntity.ok(produtoService.filtrar(filtro, cursor, tamanho, ordem));
+ }
+ 
+ // ==============================================
+ // MÉTODO 11: BUSCAR VÁRIOS PRODUTOS POR ID
+ // ==============================================
+ @GetMapping("/lote")
+ // GET /produtos/lote?ids=3,1,7 (até ProdutoService.TAMANHO_MAXIMO_LOTE IDs)
+ public ResponseEntity<List<ProdutoLote>> getLote(@RequestParam List<Long> ids) {
+     // Uma requisição no lugar de um GET /produtos/{id} por item: os produtos vêm do cache ou de
+     // uma única consulta e são retornados na ordem dos IDs, com encontrado = false para os inexistentes
+     // Nenhum ID ou IDs demais → 400 Bad Request
+     return ResponseEntity.ok(produtoService.buscarLote(ids));
+ }
+ 
+ // ==============================================
+ // MÉTODO 12: FEED DE ALTERAÇÕES DO CATÁLOGO
+ // ==============================================
+ @GetMapping("/alteracoes")
+ // GET /produtos/alteracoes?desde=0&tamanho=20&espera=30
+ public CompletableFuture<AlteracoesCatalogo> getAlteracoes(@RequestParam(required = false) Long desde,
+         @RequestParam(defaultValue = "" + Pagina.TAMANHO_PADRAO) int tamanho,
+         @RequestParam(defaultValue = "30") long espera) {
+     // Sem "desde" → apenas a posição atual do feed (obtida antes de baixar o catálogo completo)
+     if(desde == null) {
+         return CompletableFuture.completedFuture(eventoCatalogoService.posicaoAtual());
+     }
+     // Eventos (inclusão, alteração e exclusão de produtos e categorias) depois da posição "desde";
+     // sem eventos novos aguarda até "espera" segundos por uma alteração (long polling)
+     // e retorna o cursor a ser enviado no próximo "desde". Cursor antigo demais → 410 Gone
+     return eventoCatalogoService.aguardar(desde, tamanho, Duration.ofSeconds(espera));
  }
 }
@@ -8,6 +8,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.generation.farmacia.model.Usuario;
+import com.generation.farmacia.model.UsuarioAtualizacao;
 import com.generation.farmacia.model.UsuarioLogin;
 import com.generation.farmacia.service.UsuarioService;
 
@@ -55,6 +57,13 @@ public class UsuarioController {
 				.orElse(ResponseEntity.notFound().build());
 	}
 	
+	@PatchMapping("/atualizar")
+	public ResponseEntity<Void> patch(@Valid @RequestBody UsuarioAtualizacao usuario){
+		return usuarioService.atualizarParcialmente(usuario)
+				? ResponseEntity.noContent().build()
+				: ResponseEntity.notFound().build();
+	}
+	
 	@PostMapping("/logar")
 	public ResponseEntity<UsuarioLogin> autenticar(@Valid @RequestBody Optional<UsuarioLogin> usuarioLogin){
 		return usuarioService.autenticarUsuario(usuarioLogin)
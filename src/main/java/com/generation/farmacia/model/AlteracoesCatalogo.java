@@ -0,0 +1,10 @@
+package com.generation.farmacia.model;
+
+import java.util.List;
+
+// Resposta do feed de alterações do catálogo (GET /produtos/alteracoes)
+// cursor → posição do último evento entregue, a ser enviada no próximo "desde"
+// (igual ao "desde" recebido quando não há eventos novos)
+// maisEventos → já existem mais eventos depois desta resposta (buscar de novo sem esperar)
+public record AlteracoesCatalogo(List<EventoCatalogo> eventos, long cursor, boolean maisEventos) {
+}
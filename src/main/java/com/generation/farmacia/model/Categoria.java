@@ -1,8 +1,13 @@
 package com.generation.farmacia.model;// Pacote onde o controller de Categoria está localizado
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -13,6 +18,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 //Importações para validação de dados
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -29,12 +35,20 @@ public class Categoria {
     @NotBlank(message = "O Atributo descricao é obrigatório") // Valida que não pode estar vazio ou nulo
     @Size(min = 3, max = 1000, message = "A descricao deve ter entre 3 e 1000 caracteres") // Valida tamanho mínimo e máximo
     private String descricao;
+
+    @Version // Controle de concorrência otimista: incrementada a cada UPDATE, que falha se a versão enviada estiver desatualizada
+    private Long versao;
+
+    @UpdateTimestamp // Data/hora da última alteração, preenchida pelo Hibernate no INSERT e em cada UPDATE
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY) // Enviada ao cliente, mas ignorada nas requisições
+    private LocalDateTime atualizadoEm;
  // ====================== RELACIONAMENTO COM PRODUTO ======================
     @OneToMany(
         fetch = FetchType.LAZY, // Carrega os produtos apenas quando necessário (economiza memória)
         mappedBy = "categoria", // Nome do atributo na classe Produto que mapeia a categoria
         cascade = CascadeType.REMOVE // Ao remover uma categoria, todos os produtos associados também serão removidos
     )
+    @BatchSize(size = Pagina.TAMANHO_MAXIMO) // Carrega os produtos de várias categorias da mesma página em uma só consulta
     @JsonIgnoreProperties(value = "categoria", allowSetters = true) 
     // Evita loop infinito na serialização JSON (Categoria -> Produto -> Categoria -> ...)
     private List<Produto> produtos; // Produtos dessa categoria
@@ -64,6 +78,22 @@ public class Categoria {
 		this.produtos = produtos;
 	}
 
+	public Long getVersao() {
+		return versao;
+	}
+
+	public void setVersao(Long versao) {
+		this.versao = versao;
+	}
+
+	public LocalDateTime getAtualizadoEm() {
+		return atualizadoEm;
+	}
+
+	public void setAtualizadoEm(LocalDateTime atualizadoEm) {
+		this.atualizadoEm = atualizadoEm;
+	}
+
 
 }
 
@@ -0,0 +1,24 @@
+package com.generation.farmacia.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Resumo de uma categoria para a listagem leve de categorias
+// totalProdutos, precoMinimo e precoMaximo vêm de uma única consulta de agregação (COUNT/MIN/MAX),
+// sem carregar os produtos, calculada pelo banco sobre os valores exatos (DECIMAL).
+// produtos só é preenchido quando o cliente pede alguns produtos de exemplo.
+public record CategoriaResumo(Long id, String descricao, Long totalProdutos, BigDecimal precoMinimo,
+        BigDecimal precoMaximo, @JsonInclude(JsonInclude.Include.NON_NULL) List<ProdutoResumo> produtos) {
+
+    // Construtor usado na consulta JPQL de agregação (sem produtos)
+    public CategoriaResumo(Long id, String descricao, Long totalProdutos, BigDecimal precoMinimo, BigDecimal precoMaximo) {
+        this(id, descricao, totalProdutos, precoMinimo, precoMaximo, null);
+    }
+
+    // Cópia do resumo com os produtos informados
+    public CategoriaResumo comProdutos(List<ProdutoResumo> produtos) {
+        return new CategoriaResumo(id, descricao, totalProdutos, precoMinimo, precoMaximo, produtos);
+    }
+}
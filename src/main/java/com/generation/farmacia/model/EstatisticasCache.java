@@ -0,0 +1,8 @@
+package com.generation.farmacia.model;
+
+// Estatísticas de um cache em memória, expostas pelo endpoint de monitoramento
+// acertos → leituras atendidas pelo cache
+// faltas → leituras que precisaram ir ao banco de dados
+// remocoes → entradas descartadas por tamanho máximo ou expiração
+public record EstatisticasCache(long acertos, long faltas, double taxaAcertos, long remocoes, long tamanho) {
+}
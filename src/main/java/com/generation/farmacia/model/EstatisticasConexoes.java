@@ -0,0 +1,12 @@
+package com.generation.farmacia.model;
+
+// Estatísticas do pool de conexões com o banco (HikariCP), expostas pelo endpoint de monitoramento
+// ativas/ociosas/total → conexões em uso, livres e abertas no momento
+// aguardando → threads esperando uma conexão livre (acima de 0 indica pool saturado)
+// maximo/minimoOciosas → limites configurados do pool
+// aquisicoes → conexões entregues desde o início; tempos de espera em milissegundos
+// (média, máximo recente e percentis 50/95/99)
+public record EstatisticasConexoes(String pool, int ativas, int ociosas, int total, int aguardando, int maximo,
+        int minimoOciosas, long aquisicoes, double aquisicaoMediaMs, double aquisicaoMaximaMs,
+        double aquisicaoP50Ms, double aquisicaoP95Ms, double aquisicaoP99Ms) {
+}
@@ -0,0 +1,11 @@
+package com.generation.farmacia.model;
+
+// Estatísticas do processamento de senhas (BCrypt), expostas pelo endpoint de monitoramento
+// threads/ativas → tamanho do pool e quantas threads estão calculando hashes agora
+// fila/capacidadeFila → senhas aguardando processamento e o limite antes de responder 429
+// concluidas/rejeitadas → operações realizadas e recusadas por fila cheia
+// tempoMedioMs/tempoMaximoMs → duração do hash (sem a espera na fila)
+// esperaMediaMs → tempo médio que uma senha aguardou na fila
+public record EstatisticasSenhas(int threads, int ativas, int fila, int capacidadeFila, long concluidas,
+        long rejeitadas, double tempoMedioMs, double tempoMaximoMs, double esperaMediaMs) {
+}
@@ -0,0 +1,58 @@
+package com.generation.farmacia.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity // Quantidade em estoque de um produto (uma linha por produto)
+@Table(name = "tb_estoques")
+// As reservas e confirmações de compra acontecem em memória (RegistroEstoque) e a quantidade é gravada
+// aqui em lotes pelo EstoqueService; a linha é removida junto com o produto (ON DELETE CASCADE)
+public class Estoque {
+
+    @Id // Mesmo ID do produto (chave estrangeira para tb_produtos)
+    @Column(name = "produto_id")
+    private Long produtoId;
+
+    // Quantidade física em estoque (disponível + reservada)
+    private Integer quantidade;
+
+    // Número da última alteração gravada; a gravação só sobrescreve revisões mais antigas,
+    // então repetir ou reordenar gravações não altera o resultado (idempotente)
+    private Long revisao;
+
+    public Estoque() {
+    }
+
+    public Estoque(Long produtoId, Integer quantidade, Long revisao) {
+        this.produtoId = produtoId;
+        this.quantidade = quantidade;
+        this.revisao = revisao;
+    }
+
+    // ====================== GETTERS E SETTERS ======================
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public void setProdutoId(Long produtoId) {
+        this.produtoId = produtoId;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Integer quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public Long getRevisao() {
+        return revisao;
+    }
+
+    public void setRevisao(Long revisao) {
+        this.revisao = revisao;
+    }
+}
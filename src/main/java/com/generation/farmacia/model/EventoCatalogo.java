@@ -0,0 +1,102 @@
+package com.generation.farmacia.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity // Alteração do catálogo registrada na mesma transação da escrita (outbox)
+@Table(name = "tb_eventos_catalogo")
+public class EventoCatalogo {
+
+    public enum Entidade { PRODUTO, CATEGORIA }
+
+    public enum Tipo { CRIADO, ALTERADO, EXCLUIDO }
+
+    @Id // Posição do evento no feed (sequencial e sem lacunas, ver EventoCatalogoService)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR) // Coluna VARCHAR também no MySQL (sem o tipo ENUM nativo)
+    private Entidade entidade;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private Tipo tipo;
+
+    @Column(name = "entidade_id")
+    private Long entidadeId;
+
+    // Versão (@Version) do produto ou da categoria após a alteração (null na exclusão)
+    private Long versao;
+
+    @Column(name = "criado_em")
+    private LocalDateTime criadoEm;
+
+    public EventoCatalogo() {
+    }
+
+    public EventoCatalogo(Entidade entidade, Tipo tipo, Long entidadeId, Long versao) {
+        this.entidade = entidade;
+        this.tipo = tipo;
+        this.entidadeId = entidadeId;
+        this.versao = versao;
+        this.criadoEm = LocalDateTime.now();
+    }
+
+    // ====================== GETTERS E SETTERS ======================
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Entidade getEntidade() {
+        return entidade;
+    }
+
+    public void setEntidade(Entidade entidade) {
+        this.entidade = entidade;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getEntidadeId() {
+        return entidadeId;
+    }
+
+    public void setEntidadeId(Long entidadeId) {
+        this.entidadeId = entidadeId;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public void setCriadoEm(LocalDateTime criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+}
@@ -0,0 +1,10 @@
+package com.generation.farmacia.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Filtros da listagem de produtos (GET /produtos/filtro), todos opcionais
+// categorias → IDs das categorias (?categorias=1,2); precoMinimo/precoMaximo → faixa de preço (inclusive)
+// nome → início do nome do produto, sem diferenciar maiúsculas/minúsculas
+public record FiltroProdutos(List<Long> categorias, BigDecimal precoMinimo, BigDecimal precoMaximo, String nome) {
+}
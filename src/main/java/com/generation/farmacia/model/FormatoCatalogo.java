@@ -0,0 +1,42 @@
+package com.generation.farmacia.model;
+
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+// Formatos de arquivo aceitos na importação e gerados na exportação do catálogo de produtos
+public enum FormatoCatalogo {
+
+    JSON(MediaType.APPLICATION_JSON_VALUE),
+    NDJSON(FormatoCatalogo.NDJSON_VALUE), // um objeto JSON por linha (JSON Lines)
+    CSV(FormatoCatalogo.CSV_VALUE);
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String CSV_VALUE = "text/csv";
+
+    private final String mediaType;
+
+    FormatoCatalogo(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    // Extensão usada no nome do arquivo exportado (json, ndjson, csv)
+    public String getExtensao() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    // Converte o parâmetro "formato" da requisição, sem diferenciar maiúsculas/minúsculas
+    public static FormatoCatalogo de(String formato) {
+        try {
+            return valueOf(formato.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato inválido! Use json, ndjson ou csv.");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.generation.farmacia.model;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Página de resultados da listagem paginada por cursor
+// conteudo → registros da página atual
+// proximoCursor → token a ser enviado no parâmetro "cursor" para buscar a próxima página (null na última)
+public record Pagina<T>(List<T> conteudo, String proximoCursor) {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    // Limita o tamanho pedido pelo cliente ao intervalo [1, TAMANHO_MAXIMO]
+    public static int limitarTamanho(int tamanho) {
+        return Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO));
+    }
+
+    // Monta a página a partir de uma consulta que buscou (tamanho + 1) registros:
+    // o registro excedente só indica que existe uma próxima página e não é devolvido
+    public static <T> Pagina<T> de(List<T> resultado, int tamanho, Function<T, String> cursorDoRegistro) {
+
+        if (resultado.size() <= tamanho) {
+            return new Pagina<>(resultado, null);
+        }
+
+        List<T> conteudo = resultado.subList(0, tamanho);
+        return new Pagina<>(List.copyOf(conteudo), cursorDoRegistro.apply(conteudo.get(tamanho - 1)));
+    }
+}
@@ -3,6 +3,13 @@ package com.generation.farmacia.model;// Pacote onde o controller de Categoria e
 //Importa a anotação do Jackson que permite ignorar certas propriedades durante serialização/deserialização JSON
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;//Evitar loops infinitos em relacionamentos bidirecionais (Categoria -> Produto -> Categoria ...)
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 //Importações para anotações do Jackson e JPA/Hibernateimport jakarta.persistence.Column;
 
 import jakarta.persistence.Column;
@@ -11,8 +18,11 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 //Importações para validação de dados
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -23,7 +33,10 @@ import jakarta.validation.constraints.Size;
 public class Produto {
   
   @Id // Define que este atributo é a chave primária da tabela
-  @GeneratedValue(strategy = GenerationType.IDENTITY) // Geração automática de valores (auto_increment no MySQL)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq") // IDs gerados por sequência
+  @SequenceGenerator(name = "produto_seq", sequenceName = "tb_produtos_seq", allocationSize = 50)
+  // A sequência reserva 50 IDs por consulta, o que permite ao Hibernate agrupar os INSERTs em lotes (JDBC batch);
+  // com IDENTITY cada INSERT precisa ser executado sozinho para obter o ID gerado
   private Long id;
 
   @NotBlank(message= "O atrituto nome é obrigatório!") // Valida que o campo não pode ser nulo ou vazio
@@ -36,7 +49,9 @@ public class Produto {
 
   @NotNull(message= "O atrituto preço é obrigatório!") // Garante que não pode ser nulo
   @PositiveOrZero(message="O preço deve ser positivo ou zero") // Garante que o valor seja >= 0
-  private Double preco;
+  @Digits(integer = 8, fraction = 2, message = "O preço deve ter no máximo 8 dígitos inteiros e 2 casas decimais")
+  @Column(precision = 10, scale = 2) // Valor exato em reais e centavos: DECIMAL(10,2) no banco, sem o arredondamento do double
+  private BigDecimal preco;
 
   @NotBlank(message= "O atrituto foto é obrigatório!") // Valida que o campo não pode estar vazio
   private String foto;
@@ -45,6 +60,13 @@ public class Produto {
   @JsonIgnoreProperties("produtos") // Ignora a propriedade 'produto' durante serialização para evitar recursão infinita
   private Categoria categoria;
 
+  @Version // Controle de concorrência otimista: incrementada a cada UPDATE, que falha se a versão enviada estiver desatualizada
+  private Long versao;
+
+  @UpdateTimestamp // Data/hora da última alteração, preenchida pelo Hibernate no INSERT e em cada UPDATE
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY) // Enviada ao cliente, mas ignorada nas requisições
+  private LocalDateTime atualizadoEm;
+
 
   // ====================== GETTERS E SETTERS ======================
 	public Long getId() {
@@ -71,11 +93,11 @@ public class Produto {
 	this.descricao = descricao;
   }
 
-  public Double getPreco() {
+  public BigDecimal getPreco() {
       return preco;
   }
 
-  public void setPreco(Double preco) {
+  public void setPreco(BigDecimal preco) {
       this.preco = preco;
   }
 
@@ -94,5 +116,21 @@ public class Produto {
   public void setCategoria(Categoria categoria) {
       this.categoria = categoria;
   }
+
+  public Long getVersao() {
+      return versao;
+  }
+
+  public void setVersao(Long versao) {
+      this.versao = versao;
+  }
+
+  public LocalDateTime getAtualizadoEm() {
+      return atualizadoEm;
+  }
+
+  public void setAtualizadoEm(LocalDateTime atualizadoEm) {
+      this.atualizadoEm = atualizadoEm;
+  }
   
 }
@@ -0,0 +1,10 @@
+package com.generation.farmacia.model;
+
+// Item da busca de vários produtos por ID (GET /produtos/lote), na mesma ordem dos IDs pedidos
+// encontrado = false → não existe produto com o ID (produto = null)
+public record ProdutoLote(Long id, boolean encontrado, Produto produto) {
+
+    public static ProdutoLote de(Long id, Produto produto) {
+        return new ProdutoLote(id, produto != null, produto);
+    }
+}
@@ -0,0 +1,44 @@
+package com.generation.farmacia.model;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+// Projeção de leitura de Produto usada nas listagens
+// É montada diretamente pela consulta (SELECT new ...) com a categoria no mesmo JOIN, então uma
+// listagem é sempre uma única consulta, sem o SELECT extra por categoria do relacionamento EAGER.
+// O JSON gerado tem o mesmo formato do Produto (categoria com id e descricao).
+// O filtro permite que o cliente escolha os campos da listagem (?campos=id,nome,preco → CamposRespostaAdvice).
+@JsonFilter(ProdutoResumo.FILTRO)
+public record ProdutoResumo(Long id, String nome, String descricao, BigDecimal preco, String foto,
+        CategoriaProduto categoria) {
+
+    // Nome do filtro de campos do Jackson
+    public static final String FILTRO = "produtoResumo";
+
+    // Campos que podem ser escolhidos no parâmetro "campos"
+    public static final List<String> CAMPOS = Arrays.stream(ProdutoResumo.class.getRecordComponents())
+            .map(componente -> componente.getName())
+            .toList();
+
+    // Dados da categoria exibidos junto com o produto
+    public record CategoriaProduto(Long id, String descricao) {
+    }
+
+    // Construtor usado nas consultas JPQL, que não montam objetos aninhados
+    public ProdutoResumo(Long id, String nome, String descricao, BigDecimal preco, String foto,
+            Long categoriaId, String categoriaDescricao) {
+        this(id, nome, descricao, preco, foto,
+                categoriaId == null ? null : new CategoriaProduto(categoriaId, categoriaDescricao));
+    }
+
+    // Resumo de um produto já carregado (com a categoria)
+    public static ProdutoResumo de(Produto produto) {
+        Categoria categoria = produto.getCategoria();
+        return new ProdutoResumo(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco(),
+                produto.getFoto(), categoria == null ? null : categoria.getId(),
+                categoria == null ? null : categoria.getDescricao());
+    }
+}
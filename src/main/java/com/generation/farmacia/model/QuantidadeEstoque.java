@@ -0,0 +1,10 @@
+package com.generation.farmacia.model;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+// Corpo das requisições de estoque: nova quantidade (PUT) ou quantidade a reservar (POST)
+public record QuantidadeEstoque(
+        @NotNull(message = "O atributo quantidade é obrigatório!")
+        @PositiveOrZero(message = "A quantidade deve ser positiva ou zero") Integer quantidade) {
+}
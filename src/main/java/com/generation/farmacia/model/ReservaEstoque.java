@@ -0,0 +1,9 @@
+package com.generation.farmacia.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Reserva de estoque feita no checkout: confirmada na conclusão da compra ou liberada no cancelamento
+// Reservas não confirmadas até expiraEm são liberadas automaticamente
+public record ReservaEstoque(UUID id, Long produtoId, int quantidade, Instant expiraEm) {
+}
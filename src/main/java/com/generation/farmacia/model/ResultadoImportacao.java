@@ -0,0 +1,43 @@
+package com.generation.farmacia.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Resultado da importação em lote de produtos
+// Linhas com erro são rejeitadas individualmente, sem interromper a importação das demais
+public class ResultadoImportacao {
+
+    // Limite de erros detalhados na resposta (os demais são apenas contados em "rejeitados")
+    private static final int MAXIMO_ERROS_DETALHADOS = 1000;
+
+    // Erro de uma linha do arquivo (a numeração começa em 1)
+    public record ErroImportacao(long linha, String mensagem) {
+    }
+
+    private long importados;
+    private long rejeitados;
+    private final List<ErroImportacao> erros = new ArrayList<>();
+
+    public void registrarImportados(long quantidade) {
+        importados += quantidade;
+    }
+
+    public void registrarErro(long linha, String mensagem) {
+        rejeitados++;
+        if (erros.size() < MAXIMO_ERROS_DETALHADOS) {
+            erros.add(new ErroImportacao(linha, mensagem));
+        }
+    }
+
+    public long getImportados() {
+        return importados;
+    }
+
+    public long getRejeitados() {
+        return rejeitados;
+    }
+
+    public List<ErroImportacao> getErros() {
+        return erros;
+    }
+}
@@ -0,0 +1,7 @@
+package com.generation.farmacia.model;
+
+// Situação do estoque de um produto
+// quantidade → estoque físico; reservada → reservas ainda não confirmadas nem liberadas;
+// disponivel → quantidade - reservada (o que ainda pode ser reservado)
+public record SaldoEstoque(Long produtoId, int quantidade, int disponivel, int reservada) {
+}
@@ -6,14 +6,20 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "tb_usuarios")
+@Table(name = "tb_usuarios", uniqueConstraints = @UniqueConstraint(name = Usuario.UK_USUARIO, columnNames = "usuario"))
+// O login é único e indexado: buscas por usuário (login e cada requisição autenticada) usam o índice
+// e o cadastro duplicado é recusado pelo próprio banco
 public class Usuario {
 
+	// Nome da restrição de login único (usado para identificar a violação no cadastro/atualização)
+	public static final String UK_USUARIO = "uk_usuarios_usuario";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
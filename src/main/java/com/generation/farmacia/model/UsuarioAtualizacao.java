@@ -0,0 +1,28 @@
+package com.generation.farmacia.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+// Corpo da atualização parcial de usuário (PATCH /usuarios/atualizar)
+// Apenas o id é obrigatório: campos nulos (ou ausentes no JSON) mantêm o valor atual
+public record UsuarioAtualizacao(
+
+		@NotNull(message = "O Atributo Id é Obrigatório!")
+		Long id,
+
+		@Size(min = 1, message = "O Atributo Nome não pode ser vazio!")
+		String nome,
+
+		@Schema(example = "email@email.com.br")
+		@Email(message = "O Atributo Usuário deve ser um email válido!")
+		@Size(min = 1, message = "O Atributo Usuário não pode ser vazio!")
+		String usuario,
+
+		@Size(min = 8, message = "A Senha deve ter no mínimo 8 caracteres")
+		String senha,
+
+		@Size(max = 5000, message = "O link da foto não pode ser maior do que 5000 caracteres")
+		String foto) {
+}
@@ -0,0 +1,41 @@
+package com.generation.farmacia.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+
+// Resumo do estado de um conjunto de registros, usado para gerar o ETag das listagens
+// total/somaIds → mudam quando um registro é incluído ou excluído
+// somaVersoes → muda a cada UPDATE (@Version)
+// atualizadoEm → alteração mais recente
+// Obtido com uma consulta de agregação, sem carregar nem serializar os registros
+public record VersaoTabela(Long total, Long somaIds, Long somaVersoes, LocalDateTime atualizadoEm) {
+
+    // Versão dos produtos já carregados (ex.: os produtos de uma categoria)
+    public static VersaoTabela deProdutos(Collection<Produto> produtos) {
+        long somaIds = 0;
+        long somaVersoes = 0;
+        LocalDateTime atualizadoEm = null;
+
+        for (Produto produto : produtos) {
+            somaIds += produto.getId();
+            somaVersoes += produto.getVersao() == null ? 0 : produto.getVersao();
+            if (atualizadoEm == null || (produto.getAtualizadoEm() != null && produto.getAtualizadoEm().isAfter(atualizadoEm))) {
+                atualizadoEm = produto.getAtualizadoEm();
+            }
+        }
+
+        return new VersaoTabela((long) produtos.size(), somaIds, somaVersoes, atualizadoEm);
+    }
+
+    // Texto compacto (base 36) que identifica esta versão, usado dentro do ETag
+    public String assinatura() {
+        long micros = atualizadoEm == null ? 0
+                : atualizadoEm.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + atualizadoEm.getNano() / 1_000;
+        return base36(total) + "." + base36(somaIds) + "." + base36(somaVersoes) + "." + Long.toString(micros, 36);
+    }
+
+    private static String base36(Long valor) {
+        return Long.toString(valor == null ? 0 : valor, 36);
+    }
+}
@@ -1,18 +1,48 @@
 package com.generation.farmacia.repository;
 
 import java.util.List; // Importa a interface List para retorno de listas de categorias
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 //Importa a interface JpaRepository do Spring Data JPA
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.CategoriaResumo;
+import com.generation.farmacia.model.VersaoTabela;
 
 //Interface que estende JpaRepository para operações CRUD automáticas em Categorias
 //JpaRepository<Categoria, Long> → Categoria é a entidade e Long é o tipo do ID
 public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
 
+ // Busca por ID com os produtos carregados na mesma consulta, para que a categoria guardada no
+ // cache (CategoriaService.buscarPorId) não dependa de uma sessão aberta ao ser serializada
+ @EntityGraph(attributePaths = "produtos")
+ public Optional<Categoria> findComProdutosById(Long id);
+
  // Busca todas as categorias cuja descrição contenha a string informada, ignorando maiúsculas/minúsculas
  // Equivalente a: SELECT * FROM tb_Categorias WHERE descricao LIKE '%?%';
  public List<Categoria> findAllByDescricaoContainingIgnoreCase(String descricao);
 
-}
\ No newline at end of file
+ // Paginação por cursor (keyset) ordenada por ID
+ // Equivalente a: SELECT * FROM tb_categorias WHERE id > ? ORDER BY id LIMIT ?;
+ public List<Categoria> findByIdGreaterThanOrderByIdAsc(Long id, Pageable limite);
+
+ // Retorna apenas os IDs de todas as categorias (usado para validar importações em lote)
+ @Query("SELECT c.id FROM Categoria c")
+ public List<Long> findAllIds();
+
+ // Resumo de todas as categorias com a quantidade de produtos e a faixa de preço
+ // Uma única consulta de agregação, sem carregar os produtos (categorias vazias têm total 0)
+ @Query("SELECT new com.generation.farmacia.model.CategoriaResumo(c.id, c.descricao, COUNT(p.id), MIN(p.preco), MAX(p.preco)) "
+         + "FROM Categoria c LEFT JOIN c.produtos p GROUP BY c.id, c.descricao ORDER BY c.id")
+ public List<CategoriaResumo> findResumos();
+
+ // Versão atual da tabela de categorias em uma única consulta de agregação (usada no ETag das listagens)
+ @Query("SELECT new com.generation.farmacia.model.VersaoTabela("
+         + "COUNT(c), COALESCE(SUM(c.id), 0L), COALESCE(SUM(c.versao), 0L), MAX(c.atualizadoEm)) FROM Categoria c")
+ public VersaoTabela findVersao();
+
+}
@@ -0,0 +1,10 @@
+package com.generation.farmacia.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.generation.farmacia.model.Estoque;
+
+// Leitura do estoque gravado (as gravações são feitas em lote pelo EstoqueService)
+public interface EstoqueRepository extends JpaRepository<Estoque, Long> {
+
+}
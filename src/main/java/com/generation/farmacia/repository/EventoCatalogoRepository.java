@@ -0,0 +1,29 @@
+package com.generation.farmacia.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.generation.farmacia.model.EventoCatalogo;
+
+// Outbox das alterações do catálogo (gravado pelo EventoCatalogoService)
+public interface EventoCatalogoRepository extends JpaRepository<EventoCatalogo, Long> {
+
+    // Eventos depois da posição informada, em ordem (o Pageable limita a quantidade)
+    List<EventoCatalogo> findByIdGreaterThanOrderByIdAsc(Long id, Pageable limite);
+
+    @Query("SELECT MAX(e.id) FROM EventoCatalogo e")
+    Long findUltimoId();
+
+    // Remove os eventos antigos, mantendo sempre o último (que marca a posição atual do feed)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EventoCatalogo e WHERE e.criadoEm < :limite AND e.id < :ultimoId")
+    int deleteAntigos(@Param("limite") LocalDateTime limite, @Param("ultimoId") Long ultimoId);
+}
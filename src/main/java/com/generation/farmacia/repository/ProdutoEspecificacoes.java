@@ -0,0 +1,85 @@
+package com.generation.farmacia.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.generation.farmacia.model.Produto;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.JoinType;
+
+// Condições dinâmicas (Specification/Criteria) da consulta filtrada de produtos
+// Cada método devolve null quando o filtro não foi informado, e o Spring Data ignora condições nulas,
+// então o SQL gerado contém apenas os filtros usados. As condições usam as colunas na forma
+// em que estão indexadas: categoria_id + preco (idx_produtos_categoria_preco) e preco + id (idx_produtos_preco).
+public final class ProdutoEspecificacoes {
+
+    private ProdutoEspecificacoes() {
+    }
+
+    // Carrega a categoria no mesmo SELECT (LEFT JOIN FETCH), sem a consulta extra por categoria do EAGER
+    public static Specification<Produto> comCategoria() {
+        return (produto, consulta, cb) -> {
+            if (consulta.getResultType() != Long.class && consulta.getResultType() != long.class) {
+                produto.fetch("categoria", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    // categoria_id IN (...) → usa a coluna de chave estrangeira, sem JOIN
+    public static Specification<Produto> dasCategorias(Collection<Long> categorias) {
+        if (categorias == null || categorias.isEmpty()) {
+            return null;
+        }
+        return (produto, consulta, cb) -> produto.get("categoria").get("id").in(categorias);
+    }
+
+    public static Specification<Produto> precoMinimo(BigDecimal preco) {
+        if (preco == null) {
+            return null;
+        }
+        return (produto, consulta, cb) -> cb.greaterThanOrEqualTo(produto.get("preco"), preco);
+    }
+
+    public static Specification<Produto> precoMaximo(BigDecimal preco) {
+        if (preco == null) {
+            return null;
+        }
+        return (produto, consulta, cb) -> cb.lessThanOrEqualTo(produto.get("preco"), preco);
+    }
+
+    // Nome começando com o texto informado, sem diferenciar maiúsculas/minúsculas
+    // (LIKE 'texto%', com % e _ do próprio texto escapados)
+    // colacaoSemCaixa → a collation da coluna já ignora maiúsculas/minúsculas (MySQL): nome LIKE usa o
+    // índice (nome, id); nos demais bancos a comparação é lower(nome) LIKE (índice funcional no PostgreSQL)
+    public static Specification<Produto> nomeComecaCom(String prefixo, boolean colacaoSemCaixa) {
+        if (prefixo == null || prefixo.isBlank()) {
+            return null;
+        }
+        String padrao = prefixo.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (produto, consulta, cb) -> {
+            Expression<String> nome = produto.get("nome");
+            return cb.like(colacaoSemCaixa ? nome : cb.lower(nome), padrao, '\\');
+        };
+    }
+
+    // Paginação por cursor (keyset): registros depois do último da página anterior na ordenação
+    // campo > valor OR (campo = valor AND id > ultimoId)
+    public static <T extends Comparable<? super T>> Specification<Produto> depoisDe(String campo, T valor, Long ultimoId) {
+        return (produto, consulta, cb) -> cb.or(
+                cb.greaterThan(produto.<T>get(campo), valor),
+                cb.and(cb.equal(produto.get(campo), valor), cb.greaterThan(produto.get("id"), ultimoId)));
+    }
+
+    // Paginação por cursor na ordenação por ID: id > ultimoId
+    public static Specification<Produto> depoisDoId(Long ultimoId) {
+        return (produto, consulta, cb) -> cb.greaterThan(produto.get("id"), ultimoId);
+    }
+}
@@ -1,19 +1,130 @@
 package com.generation.farmacia.repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List; // Importa a interface List para retorno de listas de produtos
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
 //Importa a interface JpaRepository do Spring Data JPA
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.ProdutoResumo;
+import com.generation.farmacia.model.VersaoTabela;
+
+import jakarta.persistence.QueryHint;
 
 //Interface que estende JpaRepository para operações CRUD automáticas em Produtos
 //JpaRepository<Produto, Long> → Produto é a entidade e Long é o tipo do ID
-public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+//JpaSpecificationExecutor → consultas com filtros dinâmicos (ProdutoEspecificacoes)
+public interface ProdutoRepository extends JpaRepository<Produto, Long>, JpaSpecificationExecutor<Produto> {
+
+ // Produtos com os IDs informados, com a categoria no mesmo SELECT (sem ordem garantida)
+ // Usado pela busca em lote (ProdutoService.buscarLote) para os IDs que não estão no cache
+ @Query("SELECT p FROM Produto p LEFT JOIN FETCH p.categoria WHERE p.id IN :ids")
+ public List<Produto> findAllComCategoriaByIdIn(@Param("ids") Collection<Long> ids);
 
  // Busca todos os produtos cujo título contenha a string informada, ignorando maiúsculas/minúsculas
  // Equivalente a: SELECT * FROM tb_produto WHERE titulo LIKE '%?%';
  public List<Produto> findAllByDescricaoContainingIgnoreCase(String descricao);
 
-}
+ // ====================== LISTAGENS (PROJEÇÃO ProdutoResumo) ======================
+ // As listagens devolvem ProdutoResumo montado na própria consulta, com a categoria no mesmo JOIN:
+ // cada listagem é um único SELECT, sem a consulta extra por categoria do relacionamento EAGER.
+ // O LEFT JOIN mantém na listagem produtos sem categoria.
+ String SELECT_RESUMO = "SELECT new com.generation.farmacia.model.ProdutoResumo("
+         + "p.id, p.nome, p.descricao, p.preco, p.foto, c.id, c.descricao) "
+         + "FROM Produto p LEFT JOIN p.categoria c ";
+
+ // Todos os produtos ordenados por ID
+ @Query(SELECT_RESUMO + "ORDER BY p.id")
+ public List<ProdutoResumo> findAllResumos();
+
+ // Produtos com os IDs informados (sem ordem garantida), usado pela busca textual
+ @Query(SELECT_RESUMO + "WHERE p.id IN :ids")
+ public List<ProdutoResumo> findResumosByIdIn(@Param("ids") Collection<Long> ids);
+
+ // Produto de exemplo de uma categoria, lido pela consulta nativa abaixo (CategoriaService monta o ProdutoResumo)
+ public interface ProdutoDaCategoria {
+     Long getId();
+     String getNome();
+     String getDescricao();
+     BigDecimal getPreco();
+     String getFoto();
+     Long getCategoriaId();
+     String getCategoriaDescricao();
+ }
+
+ // Os primeiros produtos (menores IDs) de cada categoria, no máximo "limite" por categoria
+ // Uma única consulta para todas as categorias: ROW_NUMBER() numera os produtos de cada categoria
+ // em uma única passada ordenada (categoria_id, id), em vez de uma contagem por produto
+ @Query(value = "SELECT r.id AS id, r.nome AS nome, r.descricao AS descricao, r.preco AS preco, r.foto AS foto, "
+         + "r.categoriaId AS categoriaId, r.categoriaDescricao AS categoriaDescricao "
+         + "FROM (SELECT p.id AS id, p.nome AS nome, p.descricao AS descricao, p.preco AS preco, p.foto AS foto, "
+         + "c.id AS categoriaId, c.descricao AS categoriaDescricao, "
+         + "ROW_NUMBER() OVER (PARTITION BY p.categoria_id ORDER BY p.id) AS posicao "
+         + "FROM tb_produtos p JOIN tb_categorias c ON c.id = p.categoria_id) r "
+         + "WHERE r.posicao <= :limite ORDER BY r.categoriaId, r.id", nativeQuery = true)
+ public List<ProdutoDaCategoria> findPrimeirosPorCategoria(@Param("limite") long limite);
+
+ // ====================== PAGINAÇÃO POR CURSOR (KEYSET) ======================
+ // Cada consulta busca a "fatia" seguinte ao último registro da página anterior, filtrando pela
+ // chave de ordenação (+ id como desempate) em vez de usar OFFSET, por isso o custo não cresce
+ // com a profundidade da página. O Pageable é usado apenas para limitar a quantidade de linhas.
+
+ // Ordenação por ID
+ // Equivalente a: SELECT ... FROM tb_produtos LEFT JOIN tb_categorias ... WHERE id > ? ORDER BY id LIMIT ?;
+ @Query(SELECT_RESUMO + "WHERE p.id > :id ORDER BY p.id")
+ public List<ProdutoResumo> findPaginaPorId(@Param("id") Long id, Pageable limite);
 
+ // Ordenação por nome (primeira página e páginas seguintes)
+ @Query(SELECT_RESUMO + "ORDER BY p.nome, p.id")
+ public List<ProdutoResumo> findPrimeiraPaginaPorNome(Pageable limite);
+
+ @Query(SELECT_RESUMO + "WHERE p.nome > :nome OR (p.nome = :nome AND p.id > :id) ORDER BY p.nome, p.id")
+ public List<ProdutoResumo> findPaginaPorNome(@Param("nome") String nome, @Param("id") Long id, Pageable limite);
+
+ // Ordenação por preço (primeira página e páginas seguintes)
+ @Query(SELECT_RESUMO + "ORDER BY p.preco, p.id")
+ public List<ProdutoResumo> findPrimeiraPaginaPorPreco(Pageable limite);
+
+ @Query(SELECT_RESUMO + "WHERE p.preco > :preco OR (p.preco = :preco AND p.id > :id) ORDER BY p.preco, p.id")
+ public List<ProdutoResumo> findPaginaPorPreco(@Param("preco") BigDecimal preco, @Param("id") Long id, Pageable limite);
+
+ // ====================== ÍNDICE DE BUSCA ======================
+ // Projeção apenas com os campos de texto indexados pela busca (não carrega a categoria)
+ public interface TextoProduto {
+     Long getId();
+     String getNome();
+     String getDescricao();
+ }
+
+ // Lê os textos dos produtos em lotes ordenados por ID, para (re)construir o índice de busca
+ @Query("SELECT p.id AS id, p.nome AS nome, p.descricao AS descricao FROM Produto p WHERE p.id > :id ORDER BY p.id")
+ public List<TextoProduto> findTextosParaIndice(@Param("id") Long id, Pageable limite);
+
+ // ====================== EXPORTAÇÃO ======================
+ // Percorre todos os produtos (com a categoria na mesma consulta) como um cursor somente-leitura:
+ // as linhas são buscadas do banco aos poucos (fetch size) em vez de montar uma lista com o catálogo inteiro.
+ // Precisa ser consumido dentro de uma transação e o Stream deve ser fechado ao final.
+ @QueryHints({
+     @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+     @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+ })
+ @Query("SELECT p FROM Produto p LEFT JOIN FETCH p.categoria ORDER BY p.id")
+ public Stream<Produto> streamAllByOrderByIdAsc();
+
+ // ====================== REQUISIÇÕES CONDICIONAIS (ETag) ======================
+ // Versão atual da tabela de produtos em uma única consulta de agregação (sem ler os registros)
+ @Query("SELECT new com.generation.farmacia.model.VersaoTabela("
+         + "COUNT(p), COALESCE(SUM(p.id), 0L), COALESCE(SUM(p.versao), 0L), MAX(p.atualizadoEm)) FROM Produto p")
+ public VersaoTabela findVersao();
+
+}
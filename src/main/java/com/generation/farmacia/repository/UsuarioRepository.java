@@ -3,6 +3,10 @@ package com.generation.farmacia.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.generation.farmacia.model.Usuario;
 
@@ -10,4 +14,17 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long>{
 
 	Optional<Usuario> findByUsuario(String usuario);
 
+	// Apenas o hash da senha salvo, sem carregar o usuário
+	@Query("SELECT u.senha FROM Usuario u WHERE u.id = :id")
+	Optional<String> findSenhaById(@Param("id") Long id);
+
+	// Atualização parcial em um único UPDATE: parâmetros nulos mantêm o valor atual da coluna
+	// Retorna a quantidade de linhas alteradas (0 quando o ID não existe)
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Usuario u SET u.nome = COALESCE(:nome, u.nome), u.usuario = COALESCE(:usuario, u.usuario), "
+			+ "u.senha = COALESCE(:senha, u.senha), u.foto = COALESCE(:foto, u.foto) WHERE u.id = :id")
+	int atualizarParcialmente(@Param("id") Long id, @Param("nome") String nome, @Param("usuario") String usuario,
+			@Param("senha") String senha, @Param("foto") String foto);
+
 }
\ No newline at end of file
@@ -13,9 +13,13 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +34,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Tempo de validação do token (assinatura, expiração e carga do usuário), separado por resultado
+    private Timer validacoesAceitas;
+    private Timer validacoesRecusadas;
+
+    @PostConstruct
+    void registrarMetricas() {
+        validacoesAceitas = criarTimer("sucesso");
+        validacoesRecusadas = criarTimer("falha");
+    }
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, 
                                    @NonNull HttpServletResponse response, 
@@ -43,7 +60,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 return;
             }
             
-            processJwtAuthentication(request, token);
+            Timer.Sample inicio = Timer.start(meterRegistry);
+            try {
+                processJwtAuthentication(request, token);
+                inicio.stop(validacoesAceitas);
+            } catch (RuntimeException e) {
+                inicio.stop(validacoesRecusadas);
+                meterRegistry.counter("jwt.falhas", "motivo", motivoFalha(e)).increment();
+                throw e;
+            }
             filterChain.doFilter(request, response);
             
         } catch (ExpiredJwtException | SignatureException | MalformedJwtException
@@ -52,6 +77,31 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
     }
 
+    private Timer criarTimer(String resultado) {
+        return Timer.builder("jwt.validacao")
+                .description("Validação do token JWT por requisição")
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Motivo da recusa do token, usado como tag do contador jwt.falhas
+    private static String motivoFalha(RuntimeException e) {
+        if (e instanceof ExpiredJwtException) {
+            return "expirado";
+        }
+        if (e instanceof SignatureException) {
+            return "assinatura";
+        }
+        if (e instanceof MalformedJwtException) {
+            return "malformado";
+        }
+        if (e instanceof UsernameNotFoundException) {
+            return "usuario";
+        }
+        return "invalido";
+    }
+
     private String extractTokenFromRequest(HttpServletRequest request) {
         
     	String authHeader = request.getHeader("Authorization");
@@ -65,12 +115,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     
     private void processJwtAuthentication(HttpServletRequest request, String token) {
         
-    	String username = jwtService.extractUsername(token);
+    	// Assinatura e expiração são verificadas uma única vez por requisição
+    	Claims claims = jwtService.validateToken(token);
+    	String username = claims.getSubject();
         
         if (username != null && !username.trim().isEmpty()) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = userDetailsService.carregarUsuarioAutenticado(username);
             
-            if (jwtService.validateToken(token, userDetails)) {
+            if (jwtService.validateToken(claims, userDetails)) {
             	
                 UsernamePasswordAuthenticationToken authToken = 
                     new UsernamePasswordAuthenticationToken(
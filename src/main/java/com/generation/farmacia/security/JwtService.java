@@ -1,17 +1,28 @@
 
 package com.generation.farmacia.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 import javax.crypto.SecretKey;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import com.generation.farmacia.configuration.CacheConfig;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtService {
@@ -19,47 +30,81 @@ public class JwtService {
     @Value("${jwt.secret}")
     private String secret;
     
+    @Autowired
+    private CacheManager cacheManager;
+    
     private static final Duration EXPIRATION_DURATION = Duration.ofMinutes(60);
     
     private SecretKey signingKey;
     
-    private SecretKey getSigningKey() {
-        if (signingKey == null) {
-            byte[] keyBytes = Decoders.BASE64.decode(secret);
-            signingKey = Keys.hmacShaKeyFor(keyBytes);
-        }
-        return signingKey;
+    // Parser imutável e thread-safe, construído uma única vez e reutilizado em todas as requisições
+    private JwtParser parser;
+    
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secret);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parser()
+            .verifyWith(signingKey)
+            .build();
     }
     
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+    // Faz o parse do token, verificando assinatura e expiração uma única vez, e devolve as claims
+    // já validadas para o filtro usar tanto o usuário (subject) quanto a expiração.
+    // Tokens já verificados ficam em cache (chave = hash SHA-256 do token) até expirarem.
+    // Lança ExpiredJwtException, SignatureException ou MalformedJwtException se o token for inválido.
+    public Claims validateToken(String token) {
+        
+        Cache tokens = cacheManager.getCache(CacheConfig.TOKENS);
+        String key = hash(token);
+        
+        Claims claims = tokens.get(key, Claims.class);
+        if (claims != null && claims.getExpiration().after(new Date())) {
+            return claims;
+        }
+        
+        claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token JWT sem data de expiração");
+        }
+        
+        tokens.put(key, claims);
+        return claims;
     }
     
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return validateToken(token).getSubject();
     }
     
     public Date extractExpiration(String token) {
-        return extractAllClaims(token).getExpiration();
+        return validateToken(token).getExpiration();
     }
     
-    public boolean validateToken(String token, UserDetails userDetails) {
-        Claims claims = extractAllClaims(token);
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
         return claims.getSubject().equals(userDetails.getUsername()) && 
                claims.getExpiration().after(new Date());
     }
     
+    public boolean validateToken(String token, UserDetails userDetails) {
+        return validateToken(validateToken(token), userDetails);
+    }
+    
     public String generateToken(String username) {
         Instant now = Instant.now();
         return Jwts.builder()
             .subject(username)
             .issuedAt(Date.from(now))
             .expiration(Date.from(now.plus(EXPIRATION_DURATION)))
-            .signWith(getSigningKey())
+            .signWith(signingKey)
             .compact();
     }
+    
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package com.generation.farmacia.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// Lançada quando a fila de processamento de senhas (BCrypt) está cheia
+// Vira uma resposta 429 Too Many Requests com o cabeçalho Retry-After, indicando ao cliente
+// em quantos segundos tentar novamente
+public class LimiteSenhasException extends ResponseStatusException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSegundos;
+
+    public LimiteSenhasException(long retryAfterSegundos) {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Servidor ocupado processando senhas. Tente novamente em instantes.");
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSegundos));
+        return headers;
+    }
+}
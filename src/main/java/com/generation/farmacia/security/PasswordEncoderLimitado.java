@@ -0,0 +1,152 @@
+package com.generation.farmacia.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.generation.farmacia.model.EstatisticasSenhas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// PasswordEncoder que executa o BCrypt em um pool de threads próprio e limitado
+// O BCrypt é propositalmente caro (dezenas de ms de CPU por operação); executado na thread da
+// requisição, um pico de logins ocupa todas as CPUs e atrasa os demais endpoints. Aqui no máximo
+// "threads" hashes rodam ao mesmo tempo e no máximo "capacidadeFila" aguardam; acima disso a
+// operação é recusada na hora com LimiteSenhasException (429 + Retry-After).
+// Métricas no MeterRegistry (e no /actuator/prometheus): senhas.hash (duração do hash),
+// senhas.espera (tempo na fila), senhas.fila (senhas aguardando) e senhas.rejeitadas.
+public class PasswordEncoderLimitado implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegado;
+    private final ThreadPoolExecutor executor;
+    private final int capacidadeFila;
+    private final long retryAfterSegundos;
+
+    private final Timer tempoHash;
+    private final Timer esperaFila;
+    private final Counter rejeitadas;
+    private final AtomicLong tempoMaximoNanos = new AtomicLong(); // Desde o início, sem a janela do Timer.max()
+
+    public PasswordEncoderLimitado(PasswordEncoder delegado, int threads, int capacidadeFila, long retryAfterSegundos,
+            MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.capacidadeFila = capacidadeFila;
+        this.retryAfterSegundos = retryAfterSegundos;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila), criarThreads(), new ThreadPoolExecutor.AbortPolicy());
+
+        this.tempoHash = criarTimer("senhas.hash", "Duração do hash da senha, sem a espera na fila", meterRegistry);
+        this.esperaFila = criarTimer("senhas.espera", "Tempo que a senha aguardou na fila do pool", meterRegistry);
+        this.rejeitadas = Counter.builder("senhas.rejeitadas")
+                .description("Senhas recusadas com 429 por fila cheia")
+                .register(meterRegistry);
+        Gauge.builder("senhas.fila", executor, pool -> pool.getQueue().size())
+                .description("Senhas aguardando uma thread do pool")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence senha) {
+        return executar(() -> delegado.encode(senha));
+    }
+
+    @Override
+    public boolean matches(CharSequence senha, String senhaCodificada) {
+        return executar(() -> delegado.matches(senha, senhaCodificada));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String senhaCodificada) {
+        return delegado.upgradeEncoding(senhaCodificada); // Apenas lê o custo do hash, não precisa do pool
+    }
+
+    public EstatisticasSenhas getEstatisticas() {
+        return new EstatisticasSenhas(
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                capacidadeFila,
+                tempoHash.count(),
+                (long) rejeitadas.count(),
+                tempoHash.mean(TimeUnit.MILLISECONDS),
+                tempoMaximoNanos.get() / 1_000_000.0,
+                esperaFila.mean(TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    // Envia a operação ao pool e aguarda o resultado (a thread da requisição fica bloqueada,
+    // mas sem consumir CPU)
+    private <T> T executar(Callable<T> operacao) {
+
+        long enviadoEm = System.nanoTime();
+        Future<T> resultado;
+
+        try {
+            resultado = executor.submit(() -> {
+                long inicio = System.nanoTime();
+                esperaFila.record(inicio - enviadoEm, TimeUnit.NANOSECONDS);
+                try {
+                    return operacao.call();
+                } finally {
+                    registrarTempo(System.nanoTime() - inicio);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejeitadas.increment();
+            throw new LimiteSenhasException(retryAfterSegundos);
+        }
+
+        try {
+            return resultado.get();
+
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o processamento da senha", e);
+
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException erro) {
+                throw erro;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void registrarTempo(long nanos) {
+        tempoHash.record(nanos, TimeUnit.NANOSECONDS);
+        tempoMaximoNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static Timer criarTimer(String nome, String descricao, MeterRegistry meterRegistry) {
+        return Timer.builder(nome)
+                .description(descricao)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory criarThreads() {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, "senha-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,19 +1,26 @@
 package com.generation.farmacia.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 
 @Configuration
@@ -24,15 +31,29 @@ public class SecurityConfig {
         "/usuarios/logar",
         "/usuarios/cadastrar",
         "/error/**",
-        "/", "/docs", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**"
+        "/", "/docs", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**",
+        "/actuator/health"
     };
+    // /actuator/metrics exige token JWT, como qualquer outro endpoint da API
+    // /actuator/prometheus usa uma credencial própria do coletor (ver metricasFilterChain)
+
+    private static final String ENDPOINT_PROMETHEUS = "/actuator/prometheus";
+    private static final String PAPEL_METRICAS = "METRICAS";
 
     @Autowired
     private JwtAuthFilter jwtAuthFilter;
 
+    // BCrypt executado em um pool de threads limitado (ver PasswordEncoderLimitado)
+    // senhas.threads → hashes simultâneos (0 = metade dos processadores, no mínimo 1)
+    // senhas.fila → senhas aguardando antes de responder 429; senhas.retry-after → segundos sugeridos ao cliente
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+    PasswordEncoderLimitado passwordEncoder(
+            @Value("${senhas.threads:0}") int threads,
+            @Value("${senhas.fila:50}") int fila,
+            @Value("${senhas.retry-after:1}") long retryAfter,
+            MeterRegistry meterRegistry) {
+        int tamanhoPool = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new PasswordEncoderLimitado(new BCryptPasswordEncoder(10), tamanhoPool, fila, retryAfter, meterRegistry);
     }
 
     @Bean
@@ -40,7 +61,37 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    // Coleta do Prometheus: HTTP Basic com um usuário fixo (metricas.usuario / metricas.senha), separado dos
+    // usuários da API, porque o token JWT expira e o coletor não faz login
+    // Sem metricas.senha o endpoint fica bloqueado
+    @Bean
+    @Order(1)
+    SecurityFilterChain metricasFilterChain(HttpSecurity http,
+            @Value("${metricas.usuario:prometheus}") String usuario,
+            @Value("${metricas.senha:}") String senha) throws Exception {
+
+        // Senha comparada em texto ({noop}): a credencial é aleatória e um hash BCrypt a cada coleta seria desperdício
+        DaoAuthenticationProvider coletor = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(
+                User.withUsername(usuario).password("{noop}" + senha).roles(PAPEL_METRICAS).build()));
+
+        return http
+            .securityMatcher(ENDPOINT_PROMETHEUS)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .csrf(csrf -> csrf.disable())
+            .authenticationManager(new ProviderManager(coletor))
+            .authorizeHttpRequests(auth -> {
+                if (senha.isBlank()) {
+                    auth.anyRequest().denyAll();
+                } else {
+                    auth.anyRequest().hasRole(PAPEL_METRICAS);
+                }
+            })
+            .httpBasic(basic -> {})
+            .build();
+    }
+
     @Bean
+    @Order(2)
     SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         return http
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -48,6 +99,9 @@ public class SecurityConfig {
             .cors(cors -> {})
             
             .authorizeHttpRequests(auth -> auth
+                // Respostas assíncronas (CompletableFuture, StreamingResponseBody) terminam em um novo dispatch ASYNC,
+                // que não passa pelo JwtAuthFilter: a requisição já foi autorizada no dispatch original
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 .requestMatchers(PUBLIC_ENDPOINTS).permitAll()
                 .requestMatchers(HttpMethod.OPTIONS).permitAll()
                 .anyRequest().authenticated()
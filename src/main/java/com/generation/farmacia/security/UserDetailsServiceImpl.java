@@ -3,11 +3,14 @@ package com.generation.farmacia.security;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.generation.farmacia.configuration.CacheConfig;
 import com.generation.farmacia.model.Usuario;
 import com.generation.farmacia.repository.UsuarioRepository;
 
@@ -33,4 +36,21 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 		}
 			
 	}
-}
\ No newline at end of file
+
+	// Versão com cache usada pelo JwtAuthFilter a cada requisição autenticada
+	// O login continua usando loadUserByUsername, sempre consultando o banco
+	@Cacheable(cacheNames = CacheConfig.PRINCIPAIS, key = "#username")
+	public UserDetails carregarUsuarioAutenticado(String username) {
+		return loadUserByUsername(username);
+	}
+
+	// Remove o usuário do cache quando seus dados de acesso são alterados
+	@CacheEvict(cacheNames = CacheConfig.PRINCIPAIS, key = "#username")
+	public void removerDoCache(String username) {
+	}
+
+	// Esvazia o cache de usuários autenticados (quando o login alterado não é conhecido)
+	@CacheEvict(cacheNames = CacheConfig.PRINCIPAIS, allEntries = true)
+	public void limparCache() {
+	}
+}
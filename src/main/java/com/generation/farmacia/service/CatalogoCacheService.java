@@ -0,0 +1,64 @@
+package com.generation.farmacia.service;
+// Pacote onde o serviço de invalidação do cache do catálogo está localizado
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import com.generation.farmacia.configuration.CacheConfig;
+
+@Service
+// Centraliza a invalidação dos caches de leitura do catálogo
+// Chamado pelos caminhos de escrita (POST/PUT/DELETE) de produtos e categorias
+public class CatalogoCacheService {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Um produto foi criado, alterado ou excluído:
+    // remove o próprio produto, as categorias afetadas (que embutem a lista de produtos)
+    // e todas as páginas, já que não é possível saber em quais páginas ele aparecia
+    public void produtoAlterado(Long produtoId, Long... categoriaIds) {
+
+        if (produtoId != null) {
+            cache(CacheConfig.PRODUTOS).evict(produtoId);
+        }
+
+        for (Long categoriaId : categoriaIds) {
+            if (categoriaId != null) {
+                cache(CacheConfig.CATEGORIAS).evict(categoriaId);
+            }
+        }
+
+        cache(CacheConfig.PRODUTOS_PAGINAS).clear();
+        cache(CacheConfig.CATEGORIAS_PAGINAS).clear();
+    }
+
+    // Uma categoria foi criada, alterada ou excluída:
+    // além da própria categoria, os produtos embutem a categoria no JSON (e são removidos em
+    // cascata na exclusão), então os caches de produtos também são limpos
+    public void categoriaAlterada(Long categoriaId) {
+
+        if (categoriaId != null) {
+            cache(CacheConfig.CATEGORIAS).evict(categoriaId);
+        }
+
+        cache(CacheConfig.CATEGORIAS_PAGINAS).clear();
+        cache(CacheConfig.PRODUTOS).clear();
+        cache(CacheConfig.PRODUTOS_PAGINAS).clear();
+    }
+
+    // Várias alterações de uma vez (ex.: importação em lote): limpa todos os caches do catálogo
+    public void catalogoAlterado() {
+        cache(CacheConfig.PRODUTOS).clear();
+        cache(CacheConfig.CATEGORIAS).clear();
+        cache(CacheConfig.PRODUTOS_PAGINAS).clear();
+        cache(CacheConfig.CATEGORIAS_PAGINAS).clear();
+    }
+
+    private Cache cache(String nome) {
+        return cacheManager.getCache(nome);
+    }
+
+}
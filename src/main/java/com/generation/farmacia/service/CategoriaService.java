@@ -0,0 +1,128 @@
+package com.generation.farmacia.service;
+// Pacote onde o serviço de Categoria está localizado
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.generation.farmacia.configuration.CacheConfig;
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.CategoriaResumo;
+import com.generation.farmacia.model.EventoCatalogo;
+import com.generation.farmacia.model.Pagina;
+import com.generation.farmacia.model.ProdutoResumo;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.util.Cursor;
+
+@Service
+// Regras de negócio de Categoria que não cabem diretamente no controller
+public class CategoriaService {
+
+    private static final String ORDEM_ID = "id";
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private EventoCatalogoService eventoCatalogoService;
+
+    // Busca por ID (com os produtos) com cache de leitura, invalidado pelo CatalogoCacheService nas escritas
+    // A categoria do cache é compartilhada entre as requisições e usada apenas para leitura
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS, key = "#id", unless = "#result == null")
+    public Optional<Categoria> buscarPorId(Long id) {
+        return categoriaRepository.findComProdutosById(id);
+    }
+
+    // Cria (sem ID) ou atualiza a categoria e registra o evento no feed de alterações, na mesma transação
+    @Transactional
+    public Categoria salvar(Categoria categoria) {
+
+        boolean nova = categoria.getId() == null;
+
+        Categoria salva = categoriaRepository.saveAndFlush(categoria);
+
+        eventoCatalogoService.registrar(EventoCatalogo.Entidade.CATEGORIA,
+                nova ? EventoCatalogo.Tipo.CRIADO : EventoCatalogo.Tipo.ALTERADO, salva.getId(), salva.getVersao());
+
+        return salva;
+    }
+
+    // Exclui a categoria (e, em cascata, os produtos informados) e registra os eventos de todos eles
+    @Transactional
+    public void excluir(Long id, List<Long> produtos) {
+
+        categoriaRepository.deleteById(id);
+        categoriaRepository.flush();
+
+        List<EventoCatalogo> eventos = new ArrayList<>();
+        for (Long produto : produtos) {
+            eventos.add(new EventoCatalogo(EventoCatalogo.Entidade.PRODUTO, EventoCatalogo.Tipo.EXCLUIDO, produto, null));
+        }
+        eventos.add(new EventoCatalogo(EventoCatalogo.Entidade.CATEGORIA, EventoCatalogo.Tipo.EXCLUIDO, id, null));
+
+        eventoCatalogoService.registrar(eventos);
+    }
+
+    // Lista uma página de categorias ordenadas por ID usando paginação por cursor (keyset)
+    // As páginas ficam em cache até a próxima alteração de produto ou categoria
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS_PAGINAS, key = "#tamanho + ':' + #cursor")
+    @Transactional(readOnly = true)
+    public Pagina<Categoria> listarPagina(String cursor, int tamanho) {
+
+        int tamanhoPagina = Pagina.limitarTamanho(tamanho);
+
+        Long ultimoId = cursor == null || cursor.isBlank() ? 0L : Cursor.decodificar(cursor, ORDEM_ID).id();
+
+        // Busca um registro a mais para saber se existe próxima página
+        Pagina<Categoria> pagina = Pagina.de(
+                categoriaRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, PageRequest.of(0, tamanhoPagina + 1)),
+                tamanhoPagina,
+                categoria -> new Cursor(ORDEM_ID, categoria.getId(), null).codificar());
+
+        // Inicializa os produtos ainda dentro da transação (em lote, via @BatchSize), para que a
+        // página guardada no cache possa ser serializada depois sem sessão aberta
+        pagina.conteudo().forEach(categoria -> Hibernate.initialize(categoria.getProdutos()));
+
+        return pagina;
+    }
+
+    // Lista o resumo de todas as categorias (total de produtos e faixa de preço)
+    // produtos → quantidade de produtos de exemplo incluídos em cada categoria (0 = nenhum,
+    // limitada a Pagina.TAMANHO_MAXIMO); mesmo com exemplos são apenas duas consultas
+    // Os resumos ficam em cache até a próxima alteração de produto ou categoria
+    @Cacheable(cacheNames = CacheConfig.CATEGORIAS_PAGINAS, key = "'resumo:' + #produtos")
+    @Transactional(readOnly = true)
+    public List<CategoriaResumo> listarResumos(int produtos) {
+
+        List<CategoriaResumo> resumos = categoriaRepository.findResumos();
+
+        int limite = Math.max(0, Math.min(produtos, Pagina.TAMANHO_MAXIMO));
+
+        if (limite == 0) {
+            return resumos;
+        }
+
+        Map<Long, List<ProdutoResumo>> porCategoria = produtoRepository.findPrimeirosPorCategoria(limite).stream()
+                .map(produto -> new ProdutoResumo(produto.getId(), produto.getNome(), produto.getDescricao(),
+                        produto.getPreco(), produto.getFoto(), produto.getCategoriaId(), produto.getCategoriaDescricao()))
+                .collect(Collectors.groupingBy(produto -> produto.categoria().id()));
+
+        return resumos.stream()
+                .map(resumo -> resumo.comProdutos(porCategoria.getOrDefault(resumo.id(), List.of())))
+                .toList();
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.generation.farmacia.service;
+// Pacote onde o serviço de estoque está localizado
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.generation.farmacia.model.Estoque;
+import com.generation.farmacia.model.ReservaEstoque;
+import com.generation.farmacia.model.SaldoEstoque;
+import com.generation.farmacia.repository.EstoqueRepository;
+import com.generation.farmacia.repository.ProdutoRepository;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+// Estoque dos produtos: reservas no checkout, confirmação da compra e ajuste de quantidade
+// Reservas e confirmações são resolvidas em memória (RegistroEstoque), sem SELECT ... FOR UPDATE;
+// as quantidades alteradas são gravadas em lote no banco a cada estoque.gravacao.intervalo (write-behind).
+// Cada gravação leva a revisão do produto e só sobrescreve revisões mais antigas, então repetir uma
+// gravação que falhou no meio não tem efeito colateral.
+// Supõe uma única instância da aplicação: confirmações feitas no último intervalo antes de uma queda
+// da aplicação (sem o desligamento normal, que grava as pendentes) podem não chegar ao banco.
+public class EstoqueService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EstoqueService.class);
+
+    private static final String SQL_GRAVAR =
+            "UPDATE tb_estoques SET quantidade = ?, revisao = ? WHERE produto_id = ? AND revisao < ?";
+
+    // Tempo até uma reserva não confirmada voltar a ficar disponível
+    @Value("${estoque.reserva.validade:15m}")
+    private Duration validadeReserva;
+
+    @Autowired
+    private EstoqueRepository estoqueRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RegistroEstoque registro = new RegistroEstoque(this::carregar);
+
+    public SaldoEstoque saldo(Long produtoId) {
+        return registro.saldo(produtoId);
+    }
+
+    // Quantidade menor que a já reservada → 409 Conflict
+    public SaldoEstoque definirQuantidade(Long produtoId, int quantidade) {
+        return registro.definirQuantidade(produtoId, quantidade)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT,
+                        "A quantidade não pode ser menor que a quantidade reservada!"));
+    }
+
+    // Estoque insuficiente → 409 Conflict
+    public ReservaEstoque reservar(Long produtoId, int quantidade) {
+
+        if (quantidade <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A quantidade reservada deve ser maior que zero!");
+        }
+
+        return registro.reservar(produtoId, quantidade, Instant.now().plus(validadeReserva))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Estoque insuficiente!"));
+    }
+
+    // Reserva inexistente (ou já confirmada, liberada ou expirada) → 404 Not Found
+    public void confirmar(Long produtoId, UUID reservaId) {
+        if (!registro.confirmar(produtoId, reservaId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reserva não encontrada!");
+        }
+    }
+
+    public void liberar(Long produtoId, UUID reservaId) {
+        if (!registro.liberar(produtoId, reservaId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Reserva não encontrada!");
+        }
+    }
+
+    // Chamado na exclusão do produto
+    public void descartar(Long produtoId) {
+        registro.descartar(produtoId);
+    }
+
+    // Grava em lote (JDBC batch) as quantidades alteradas desde a última gravação
+    // Em caso de erro as alterações continuam pendentes e são gravadas na próxima execução
+    @Scheduled(fixedDelayString = "${estoque.gravacao.intervalo:1s}")
+    public void gravarPendentes() {
+
+        List<RegistroEstoque.Gravacao> pendentes = registro.pendentes();
+
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(SQL_GRAVAR, pendentes, pendentes.size(), (comando, gravacao) -> {
+                comando.setInt(1, gravacao.quantidade());
+                comando.setLong(2, gravacao.revisao());
+                comando.setLong(3, gravacao.produtoId());
+                comando.setLong(4, gravacao.revisao());
+            });
+            pendentes.forEach(registro::marcarGravado);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Falha ao gravar o estoque de {} produtos; nova tentativa na próxima execução", pendentes.size(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${estoque.reserva.verificacao:10s}")
+    public void liberarReservasExpiradas() {
+        registro.liberarExpiradas(Instant.now());
+    }
+
+    // Desligamento normal da aplicação: grava o que ainda estiver pendente
+    @PreDestroy
+    public void encerrar() {
+        gravarPendentes();
+    }
+
+    // Estoque gravado do produto; produtos criados depois da migração ganham a linha no primeiro acesso
+    private Estoque carregar(Long produtoId) {
+
+        return estoqueRepository.findById(produtoId).orElseGet(() -> {
+            try {
+                jdbcTemplate.update("INSERT INTO tb_estoques (produto_id, quantidade, revisao) VALUES (?, 0, 0)", produtoId);
+                return new Estoque(produtoId, 0, 0L);
+            } catch (DataIntegrityViolationException e) {
+                // Outra requisição criou o estoque antes (chave duplicada) ou o produto foi excluído depois
+                // da verificação do controller (chave estrangeira) → 404 Not Found
+                return estoqueRepository.findById(produtoId).orElseThrow(() -> produtoRepository.existsById(produtoId)
+                        ? e
+                        : new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado!"));
+            }
+        });
+    }
+}
@@ -0,0 +1,167 @@
+package com.generation.farmacia.service;
+// Pacote onde o serviço de eventos do catálogo está localizado
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.generation.farmacia.model.AlteracoesCatalogo;
+import com.generation.farmacia.model.EventoCatalogo;
+import com.generation.farmacia.model.Pagina;
+import com.generation.farmacia.repository.EventoCatalogoRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Service
+// Feed de alterações do catálogo (outbox): cada escrita de produto ou categoria grava um evento na
+// mesma transação, e os sistemas externos buscam apenas os eventos depois do último que já processaram
+// (GET /produtos/alteracoes?desde=), em vez de baixar o catálogo inteiro para descobrir o que mudou.
+// Sem eventos novos a requisição aguarda (long polling) até a próxima alteração ou o fim da espera;
+// o aviso de novos eventos é feito em memória, depois do commit, para as requisições desta instância.
+public class EventoCatalogoService {
+
+    @Value("${eventos.espera-maxima:30s}")
+    private Duration esperaMaxima;
+
+    @Value("${eventos.retencao:7d}")
+    private Duration retencao;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EventoCatalogoRepository eventoCatalogoRepository;
+
+    // Consulta os eventos das requisições que estavam aguardando, fora da thread que fez a alteração
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor executor;
+
+    // Concluído (e substituído) a cada publicação; as requisições em espera aguardam o atual
+    private final AtomicReference<CompletableFuture<Void>> proximaPublicacao = new AtomicReference<>(new CompletableFuture<>());
+
+    // Grava o evento na transação da escrita (obrigatória) e avisa o feed depois do commit
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(EventoCatalogo.Entidade entidade, EventoCatalogo.Tipo tipo, Long id, Long versao) {
+        registrar(List.of(new EventoCatalogo(entidade, tipo, id, versao)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(List<EventoCatalogo> eventos) {
+
+        registrar(entityManager, eventos);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publicar();
+            }
+        });
+    }
+
+    // Grava os eventos com o EntityManager da transação em andamento (também usado pela importação em lote,
+    // que controla a própria transação e chama publicar() depois do commit)
+    // O contador fica bloqueado até o fim da transação: deve ser a última operação antes do commit
+    public void registrar(EntityManager entityManager, List<EventoCatalogo> eventos) {
+
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        entityManager.createNativeQuery("UPDATE tb_eventos_catalogo_seq SET valor = valor + :quantidade WHERE id = 1")
+                .setParameter("quantidade", eventos.size())
+                .executeUpdate();
+
+        long posicao = ((Number) entityManager.createNativeQuery("SELECT valor FROM tb_eventos_catalogo_seq WHERE id = 1")
+                .getSingleResult()).longValue() - eventos.size();
+
+        for (EventoCatalogo evento : eventos) {
+            evento.setId(++posicao);
+            entityManager.persist(evento);
+        }
+    }
+
+    // Avisa as requisições que aguardam novos eventos
+    public void publicar() {
+        proximaPublicacao.getAndSet(new CompletableFuture<>()).complete(null);
+    }
+
+    // Eventos depois da posição "desde" (no máximo "tamanho", limitado a Pagina.TAMANHO_MAXIMO)
+    // Como as posições não têm lacunas, um salto logo após o "desde" significa que os eventos seguintes
+    // já foram removidos (eventos.retencao) → 410 Gone: o cliente precisa sincronizar o catálogo de novo
+    public AlteracoesCatalogo listar(long desde, int tamanho) {
+
+        int tamanhoPagina = Pagina.limitarTamanho(tamanho);
+
+        List<EventoCatalogo> eventos = eventoCatalogoRepository.findByIdGreaterThanOrderByIdAsc(
+                desde, PageRequest.of(0, tamanhoPagina + 1));
+
+        if (!eventos.isEmpty() && eventos.get(0).getId() > desde + 1) {
+            throw new ResponseStatusException(HttpStatus.GONE,
+                    "Os eventos depois deste cursor não estão mais disponíveis! Sincronize novamente o catálogo.");
+        }
+
+        boolean maisEventos = eventos.size() > tamanhoPagina;
+        if (maisEventos) {
+            eventos = eventos.subList(0, tamanhoPagina);
+        }
+
+        long cursor = eventos.isEmpty() ? desde : eventos.get(eventos.size() - 1).getId();
+
+        return new AlteracoesCatalogo(eventos, cursor, maisEventos);
+    }
+
+    // Posição atual do feed, sem eventos: usada antes de baixar o catálogo completo pela primeira vez
+    public AlteracoesCatalogo posicaoAtual() {
+        Long ultimo = eventoCatalogoRepository.findUltimoId();
+        return new AlteracoesCatalogo(List.of(), ultimo == null ? 0 : ultimo, false);
+    }
+
+    // Long polling: responde na hora se já houver eventos; senão aguarda a próxima publicação,
+    // no máximo "espera" (limitada a eventos.espera-maxima), sem ocupar uma thread do servidor
+    public CompletableFuture<AlteracoesCatalogo> aguardar(long desde, int tamanho, Duration espera) {
+
+        Duration limite = espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+
+        // Obtido antes da consulta: uma publicação entre a consulta e a espera não é perdida
+        CompletableFuture<Void> aviso = proximaPublicacao.get();
+
+        AlteracoesCatalogo atuais = listar(desde, tamanho);
+
+        if (!atuais.eventos().isEmpty() || limite.isNegative() || limite.isZero()) {
+            return CompletableFuture.completedFuture(atuais);
+        }
+
+        return aviso.copy()
+                .completeOnTimeout(null, limite.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApplyAsync(publicado -> listar(desde, tamanho), executor);
+    }
+
+    // Remove os eventos mais antigos que eventos.retencao (sempre mantendo o último)
+    @Scheduled(fixedDelayString = "${eventos.limpeza.intervalo:1h}")
+    public void removerAntigos() {
+        Long ultimo = eventoCatalogoRepository.findUltimoId();
+        if (ultimo != null) {
+            eventoCatalogoRepository.deleteAntigos(LocalDateTime.now().minus(retencao), ultimo);
+        }
+    }
+}
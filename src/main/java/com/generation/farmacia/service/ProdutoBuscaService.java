@@ -0,0 +1,280 @@
+package com.generation.farmacia.service;
+// Pacote onde o serviço de busca de produtos está localizado
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.generation.farmacia.model.Pagina;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.ProdutoResumo;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.repository.ProdutoRepository.TextoProduto;
+
+@Service
+// Índice invertido em memória para a busca textual de produtos (nome e descrição)
+// Substitui o LIKE '%texto%', que não usa índice e varre a tabela inteira a cada busca.
+// Os termos são normalizados (minúsculas, sem acentos) e a busca aceita prefixos,
+// então "analg" encontra "Analgésico". O índice é reconstruído a partir do banco na
+// inicialização e mantido atualizado pelos métodos de cadastro/atualização/exclusão.
+public class ProdutoBuscaService {
+
+    // Peso de cada campo na pontuação: termos do nome valem mais que termos da descrição
+    private static final int PESO_NOME = 3;
+    private static final int PESO_DESCRICAO = 1;
+
+    // Um termo idêntico ao pesquisado vale mais do que um termo que apenas começa com ele
+    private static final int BONUS_TERMO_EXATO = 2;
+
+    private static final int TAMANHO_MINIMO_TERMO = 2;
+    private static final int TAMANHO_LOTE_RECONSTRUCAO = 1000;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    // Palavras muito frequentes em português que não ajudam a diferenciar produtos
+    private static final Set<String> PALAVRAS_IGNORADAS = Set.of(
+            "de", "da", "do", "das", "dos", "em", "na", "no", "nas", "nos",
+            "com", "sem", "para", "por", "um", "uma", "os", "as", "ao", "aos");
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    // Termos indexados de um conjunto de produtos
+    private static final class Indice {
+
+        // termo → (id do produto → peso do termo no produto), ordenado para permitir busca por prefixo
+        private final NavigableMap<String, Map<Long, Integer>> termos = new TreeMap<>();
+
+        // id do produto → termos indexados, usado para remover/atualizar um produto do índice
+        private final Map<Long, Set<String>> termosPorProduto = new HashMap<>();
+    }
+
+    // Índice em uso pelas buscas (substituído por inteiro ao final de uma reconstrução)
+    private Indice indice = new Indice();
+
+    // Alterações feitas enquanto uma reconstrução está em andamento (null fora dela),
+    // reaplicadas no novo índice antes de ele entrar em uso
+    private List<Consumer<Indice>> alteracoesPendentes;
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    // Reconstrói o índice lendo todos os produtos do banco em lotes (chamado na inicialização)
+    // O novo índice é montado sem a trava, então as buscas continuam usando o índice atual durante a
+    // leitura do banco; a trava de escrita é usada apenas para trocar os índices. As alterações feitas
+    // em paralelo são reaplicadas no novo índice, para não serem sobrescritas por uma leitura anterior
+    // do mesmo produto. Reconstruções simultâneas são executadas uma de cada vez.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruir() {
+
+        trava.writeLock().lock();
+        try {
+            alteracoesPendentes = new ArrayList<>();
+        } finally {
+            trava.writeLock().unlock();
+        }
+
+        Indice novo = new Indice();
+
+        try {
+            Long ultimoId = 0L;
+            List<TextoProduto> lote;
+
+            do {
+                lote = produtoRepository.findTextosParaIndice(ultimoId, PageRequest.of(0, TAMANHO_LOTE_RECONSTRUCAO));
+                for (TextoProduto texto : lote) {
+                    indexar(novo, texto.getId(), texto.getNome(), texto.getDescricao());
+                }
+
+                if (!lote.isEmpty()) {
+                    ultimoId = lote.get(lote.size() - 1).getId();
+                }
+            } while (lote.size() == TAMANHO_LOTE_RECONSTRUCAO);
+
+        } catch (RuntimeException e) {
+            // Falha na leitura: o índice atual continua em uso
+            trava.writeLock().lock();
+            try {
+                alteracoesPendentes = null;
+            } finally {
+                trava.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        trava.writeLock().lock();
+        try {
+            alteracoesPendentes.forEach(alteracao -> alteracao.accept(novo));
+            alteracoesPendentes = null;
+            indice = novo;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    // Adiciona ou atualiza um produto no índice (chamado após salvar o produto)
+    public void indexar(Produto produto) {
+        Long id = produto.getId();
+        String nome = produto.getNome();
+        String descricao = produto.getDescricao();
+        alterar(alvo -> indexar(alvo, id, nome, descricao));
+    }
+
+    // Remove um produto do índice (chamado após excluir o produto)
+    public void remover(Long id) {
+        alterar(alvo -> remover(alvo, id));
+    }
+
+    // Aplica a alteração no índice atual e, durante uma reconstrução, guarda-a para o novo índice
+    private void alterar(Consumer<Indice> alteracao) {
+        trava.writeLock().lock();
+        try {
+            alteracao.accept(indice);
+            if (alteracoesPendentes != null) {
+                alteracoesPendentes.add(alteracao);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    // Busca produtos cujo nome ou descrição contenham termos começando com cada palavra pesquisada
+    // Retorna a página solicitada (pagina começa em 0) ordenada pela relevância
+    public List<ProdutoResumo> buscar(String texto, int pagina, int tamanho) {
+
+        List<String> termos = new ArrayList<>(new LinkedHashSet<>(tokenizar(texto)));
+
+        if (termos.isEmpty()) {
+            return List.of();
+        }
+
+        int tamanhoPagina = Pagina.limitarTamanho(tamanho);
+        List<Long> ids;
+
+        trava.readLock().lock();
+        try {
+            Map<Long, Integer> pontuacao = null;
+
+            // Todos os termos pesquisados precisam aparecer no produto (semântica E)
+            for (String termo : termos) {
+                Map<Long, Integer> doTermo = pontuarTermo(termo);
+
+                if (pontuacao == null) {
+                    pontuacao = doTermo;
+                } else {
+                    pontuacao.keySet().retainAll(doTermo.keySet());
+                    pontuacao.replaceAll((id, pontos) -> pontos + doTermo.get(id));
+                }
+
+                if (pontuacao.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            ids = pontuacao.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .skip((long) Math.max(pagina, 0) * tamanhoPagina)
+                    .limit(tamanhoPagina)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            trava.readLock().unlock();
+        }
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Carrega apenas os produtos da página (com a categoria, em uma consulta) e devolve na ordem de relevância
+        Map<Long, ProdutoResumo> produtos = produtoRepository.findResumosByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProdutoResumo::id, Function.identity()));
+
+        return ids.stream().map(produtos::get).filter(Objects::nonNull).toList();
+    }
+
+    // Normaliza o texto (minúsculas, sem acentos) e quebra em termos indexáveis
+    static List<String> tokenizar(String texto) {
+
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> termos = new ArrayList<>();
+        for (String termo : SEPARADORES.split(normalizado)) {
+            if (termo.length() >= TAMANHO_MINIMO_TERMO && !PALAVRAS_IGNORADAS.contains(termo)) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+
+    // Soma, para cada produto, o melhor peso entre os termos do índice que começam com o termo pesquisado
+    private Map<Long, Integer> pontuarTermo(String termo) {
+
+        Map<Long, Integer> pontuacao = new HashMap<>();
+
+        indice.termos.subMap(termo, true, termo + Character.MAX_VALUE, false).forEach((termoIndexado, postagens) -> {
+            int bonus = termoIndexado.equals(termo) ? BONUS_TERMO_EXATO : 1;
+            postagens.forEach((id, peso) -> pontuacao.merge(id, peso * bonus, Math::max));
+        });
+
+        return pontuacao;
+    }
+
+    private static void indexar(Indice indice, Long id, String nome, String descricao) {
+
+        remover(indice, id);
+
+        Map<String, Integer> pesos = new HashMap<>();
+        tokenizar(nome).forEach(termo -> pesos.merge(termo, PESO_NOME, Integer::sum));
+        tokenizar(descricao).forEach(termo -> pesos.merge(termo, PESO_DESCRICAO, Integer::sum));
+
+        pesos.forEach((termo, peso) -> indice.termos.computeIfAbsent(termo, t -> new HashMap<>()).put(id, peso));
+        indice.termosPorProduto.put(id, pesos.keySet());
+    }
+
+    private static void remover(Indice indice, Long id) {
+
+        Set<String> termos = indice.termosPorProduto.remove(id);
+
+        if (termos == null) {
+            return;
+        }
+
+        for (String termo : termos) {
+            Map<Long, Integer> postagens = indice.termos.get(termo);
+            if (postagens != null) {
+                postagens.remove(id);
+                if (postagens.isEmpty()) {
+                    indice.termos.remove(termo);
+                }
+            }
+        }
+    }
+
+}
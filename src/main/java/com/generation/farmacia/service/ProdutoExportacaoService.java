@@ -0,0 +1,115 @@
+package com.generation.farmacia.service;
+// Pacote onde o serviço de exportação do catálogo de produtos está localizado
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.generation.farmacia.model.FormatoCatalogo;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.util.Csv;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Service
+// Exportação do catálogo completo de produtos (JSON, NDJSON ou CSV)
+// Os produtos são lidos do banco por um cursor e escritos na resposta à medida que chegam;
+// cada produto é retirado da sessão (detach) depois de escrito, então a memória usada não
+// depende do tamanho do catálogo.
+public class ProdutoExportacaoService {
+
+    // Colunas do CSV exportado (o mesmo cabeçalho é aceito pela importação)
+    private static final String CABECALHO_CSV = "id,nome,descricao,preco,foto,categoria";
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Escreve todos os produtos no formato pedido (a saída não é fechada aqui)
+    @Transactional(readOnly = true)
+    public void exportar(FormatoCatalogo formato, OutputStream saida) throws IOException {
+
+        try (Stream<Produto> produtos = produtoRepository.streamAllByOrderByIdAsc()) {
+            switch (formato) {
+                case CSV -> escreverCsv(produtos.iterator(), saida);
+                case NDJSON -> escreverJson(produtos.iterator(), saida, false);
+                default -> escreverJson(produtos.iterator(), saida, true);
+            }
+        }
+    }
+
+    // JSON → um único array; NDJSON → um objeto por linha
+    private void escreverJson(Iterator<Produto> produtos, OutputStream saida, boolean array) throws IOException {
+
+        // Sem flush a cada produto: o gerador envia os dados quando o buffer enche
+        ObjectWriter escritor = objectMapper.writerFor(Produto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gerador.setRootValueSeparator(null); // No NDJSON cada objeto é seguido apenas da quebra de linha
+
+            if (array) {
+                gerador.writeStartArray();
+            }
+
+            while (produtos.hasNext()) {
+                Produto produto = produtos.next();
+                escritor.writeValue(gerador, produto);
+                if (!array) {
+                    gerador.writeRaw('\n');
+                }
+                entityManager.detach(produto);
+            }
+
+            if (array) {
+                gerador.writeEndArray();
+            }
+        }
+    }
+
+    private void escreverCsv(Iterator<Produto> produtos, OutputStream saida) throws IOException {
+
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+
+        escritor.write(CABECALHO_CSV);
+        escritor.write('\n');
+
+        while (produtos.hasNext()) {
+            Produto produto = produtos.next();
+            escritor.write(String.join(",",
+                    Csv.escapar(produto.getId()),
+                    Csv.escapar(produto.getNome()),
+                    Csv.escapar(produto.getDescricao()),
+                    Csv.escapar(produto.getPreco()),
+                    Csv.escapar(produto.getFoto()),
+                    Csv.escapar(produto.getCategoria() == null ? null : produto.getCategoria().getId())));
+            escritor.write('\n');
+            entityManager.detach(produto);
+        }
+
+        escritor.flush();
+    }
+
+}
@@ -0,0 +1,286 @@
+package com.generation.farmacia.service;
+// Pacote onde o serviço de importação em lote de produtos está localizado
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.EventoCatalogo;
+import com.generation.farmacia.model.FormatoCatalogo;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.ResultadoImportacao;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.util.Csv;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+// Importação em lote de produtos a partir de arquivos JSON Lines (NDJSON) ou CSV
+// O corpo da requisição é lido linha a linha (sem carregar o arquivo inteiro em memória),
+// cada linha é validada e os produtos válidos são gravados em lotes, cada lote em sua própria
+// transação e com INSERTs agrupados (JDBC batch). Linhas inválidas são rejeitadas e informadas
+// no resultado, sem interromper a importação das demais.
+public class ProdutoImportacaoService {
+
+    // Colunas esperadas no cabeçalho do CSV
+    private static final List<String> COLUNAS_CSV = List.of("nome", "descricao", "preco", "foto", "categoria");
+
+    @Value("${importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ProdutoBuscaService produtoBuscaService;
+
+    @Autowired
+    private CatalogoCacheService catalogoCacheService;
+
+    @Autowired
+    private EventoCatalogoService eventoCatalogoService;
+
+    // Produto lido do arquivo junto com o número da linha de origem (para o relatório de erros)
+    private record LinhaImportacao(long numero, Produto produto) {
+    }
+
+    public ResultadoImportacao importar(InputStream corpo, FormatoCatalogo formato) throws IOException {
+
+        // As categorias são consultadas uma única vez, em vez de um existsById por produto
+        Set<Long> categorias = new HashSet<>(categoriaRepository.findAllIds());
+
+        ResultadoImportacao resultado = new ResultadoImportacao();
+        List<LinhaImportacao> lote = new ArrayList<>(tamanhoLote);
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+
+            Map<String, Integer> colunas = null;
+            long numero = 0;
+            String linha;
+
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+
+                if (linha.isBlank()) {
+                    continue;
+                }
+
+                // A primeira linha do CSV é o cabeçalho
+                if (formato == FormatoCatalogo.CSV && colunas == null) {
+                    colunas = lerCabecalho(linha);
+                    continue;
+                }
+
+                try {
+                    Produto produto = formato == FormatoCatalogo.CSV
+                            ? lerCsv(linha, colunas)
+                            : objectMapper.readValue(linha, Produto.class);
+
+                    validar(produto, categorias);
+                    lote.add(new LinhaImportacao(numero, produto));
+
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    resultado.registrarErro(numero, mensagem(e));
+                }
+
+                if (lote.size() >= tamanhoLote) {
+                    gravar(lote, resultado);
+                    lote.clear();
+                }
+            }
+        }
+
+        gravar(lote, resultado);
+
+        if (resultado.getImportados() > 0) {
+            catalogoCacheService.catalogoAlterado();
+        }
+
+        return resultado;
+    }
+
+    // Grava um lote inteiro em uma única transação
+    // Se o banco recusar algum registro, o lote é desfeito e gravado linha a linha,
+    // para rejeitar apenas as linhas com problema
+    private void gravar(List<LinhaImportacao> lote, ResultadoImportacao resultado) {
+
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        try {
+            executarEmTransacao(entityManager -> {
+                lote.forEach(linha -> persistir(entityManager, linha.produto()));
+                registrarEventos(entityManager, lote.stream().map(LinhaImportacao::produto).toList());
+            });
+            resultado.registrarImportados(lote.size());
+            lote.forEach(linha -> produtoBuscaService.indexar(linha.produto()));
+
+        } catch (PersistenceException e) {
+
+            for (LinhaImportacao linha : lote) {
+                linha.produto().setId(null); // Descarta o ID reservado na tentativa anterior
+                try {
+                    executarEmTransacao(entityManager -> {
+                        persistir(entityManager, linha.produto());
+                        registrarEventos(entityManager, List.of(linha.produto()));
+                    });
+                    resultado.registrarImportados(1);
+                    produtoBuscaService.indexar(linha.produto());
+                } catch (PersistenceException erro) {
+                    resultado.registrarErro(linha.numero(), mensagem(erro));
+                }
+            }
+        }
+    }
+
+    // Cada lote usa um EntityManager próprio, com transação e tamanho de JDBC batch próprios,
+    // que é fechado ao final para liberar da memória os produtos já gravados
+    private void executarEmTransacao(Consumer<EntityManager> operacao) {
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+        try {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+            entityManager.getTransaction().begin();
+            operacao.accept(entityManager);
+            entityManager.getTransaction().commit();
+            eventoCatalogoService.publicar(); // Avisa os clientes que aguardam o feed de alterações
+
+        } catch (RuntimeException e) {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            throw e;
+
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private void persistir(EntityManager entityManager, Produto produto) {
+        // Referência à categoria já validada, sem consultar o banco
+        produto.setCategoria(entityManager.getReference(Categoria.class, produto.getCategoria().getId()));
+        entityManager.persist(produto);
+    }
+
+    // Eventos do feed de alterações dos produtos importados, na mesma transação do lote
+    // (o persist já atribuiu o ID e a versão inicial)
+    private void registrarEventos(EntityManager entityManager, List<Produto> produtos) {
+        eventoCatalogoService.registrar(entityManager, produtos.stream()
+                .map(produto -> new EventoCatalogo(EventoCatalogo.Entidade.PRODUTO, EventoCatalogo.Tipo.CRIADO,
+                        produto.getId(), produto.getVersao()))
+                .toList());
+    }
+
+    private void validar(Produto produto, Set<Long> categorias) {
+
+        Set<ConstraintViolation<Produto>> violacoes = validator.validate(produto);
+
+        if (!violacoes.isEmpty()) {
+            throw new IllegalArgumentException(violacoes.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        if (produto.getCategoria() == null || !categorias.contains(produto.getCategoria().getId())) {
+            throw new IllegalArgumentException("A categoria informada não existe!");
+        }
+
+        produto.setId(null); // Garante que será criado um novo registro
+    }
+
+    private Map<String, Integer> lerCabecalho(String linha) {
+
+        Map<String, Integer> colunas = new HashMap<>();
+        List<String> campos = Csv.lerLinha(linha);
+
+        for (int i = 0; i < campos.size(); i++) {
+            String coluna = campos.get(i).trim().toLowerCase(Locale.ROOT);
+            colunas.put(coluna.equals("categoria_id") ? "categoria" : coluna, i);
+        }
+
+        if (!colunas.keySet().containsAll(COLUNAS_CSV)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "O cabeçalho do CSV deve conter as colunas: " + String.join(",", COLUNAS_CSV));
+        }
+
+        return colunas;
+    }
+
+    private Produto lerCsv(String linha, Map<String, Integer> colunas) {
+
+        List<String> campos = Csv.lerLinha(linha);
+
+        Produto produto = new Produto();
+        produto.setNome(campo(campos, colunas, "nome"));
+        produto.setDescricao(campo(campos, colunas, "descricao"));
+        produto.setFoto(campo(campos, colunas, "foto"));
+
+        String preco = campo(campos, colunas, "preco");
+        produto.setPreco(preco == null ? null : new BigDecimal(preco));
+
+        String categoria = campo(campos, colunas, "categoria");
+        if (categoria != null) {
+            Categoria referencia = new Categoria();
+            referencia.setId(Long.valueOf(categoria));
+            produto.setCategoria(referencia);
+        }
+
+        return produto;
+    }
+
+    // Valor da coluna na linha (campos vazios ou ausentes são tratados como nulos)
+    private String campo(List<String> campos, Map<String, Integer> colunas, String coluna) {
+        int indice = colunas.get(coluna);
+        if (indice >= campos.size() || campos.get(indice).isBlank()) {
+            return null;
+        }
+        return campos.get(indice).trim();
+    }
+
+    private String mensagem(Exception e) {
+        if (e instanceof JsonProcessingException json) {
+            return "JSON inválido: " + json.getOriginalMessage();
+        }
+        return NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.generation.farmacia.service;
+// Pacote onde o serviço de Produto está localizado
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.generation.farmacia.configuration.CacheConfig;
+import com.generation.farmacia.model.EventoCatalogo;
+import com.generation.farmacia.model.FiltroProdutos;
+import com.generation.farmacia.model.Pagina;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.ProdutoLote;
+import com.generation.farmacia.model.ProdutoResumo;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.repository.ProdutoEspecificacoes;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.util.Cursor;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+// Regras de negócio de Produto que não cabem diretamente no controller
+public class ProdutoService {
+
+    // Ordenações aceitas na listagem paginada
+    public static final String ORDEM_ID = "id";
+    public static final String ORDEM_NOME = "nome";
+    public static final String ORDEM_PRECO = "preco";
+
+    // Quantidade máxima de IDs por busca em lote (GET /produtos/lote)
+    public static final int TAMANHO_MAXIMO_LOTE = 100;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EventoCatalogoService eventoCatalogoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // No MySQL a collation padrão das colunas (utf8mb4_0900_ai_ci) já compara sem diferenciar
+    // maiúsculas/minúsculas, e o filtro por nome compara a coluna sem lower() (ver nomeComecaCom)
+    private boolean colacaoSemCaixa;
+
+    @PostConstruct
+    void detectarColacao() {
+        colacaoSemCaixa = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+    }
+
+    // Busca por ID com cache de leitura (invalidado pelo CatalogoCacheService nas escritas)
+    // O cache fica no serviço, e não no findById do repositório: o Spring Data e as transações continuam
+    // recebendo entidades gerenciadas, e o produto do cache (compartilhado entre as requisições) é usado
+    // apenas para leitura. Produtos inexistentes não são guardados no cache
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS, key = "#id", unless = "#result == null")
+    public Optional<Produto> buscarPorId(Long id) {
+        return produtoRepository.findById(id);
+    }
+
+    // Cria (sem ID) ou atualiza o produto e registra o evento no feed de alterações, na mesma transação
+    // O flush antes do evento aplica a verificação de versão e devolve a versão já incrementada
+    @Transactional
+    public Produto salvar(Produto produto) {
+
+        boolean novo = produto.getId() == null;
+
+        Produto salvo = produtoRepository.saveAndFlush(produto);
+
+        eventoCatalogoService.registrar(EventoCatalogo.Entidade.PRODUTO,
+                novo ? EventoCatalogo.Tipo.CRIADO : EventoCatalogo.Tipo.ALTERADO, salvo.getId(), salvo.getVersao());
+
+        return salvo;
+    }
+
+    // Exclui o produto e registra o evento no feed de alterações, na mesma transação
+    @Transactional
+    public void excluir(Long id) {
+        produtoRepository.deleteById(id);
+        produtoRepository.flush();
+        eventoCatalogoService.registrar(EventoCatalogo.Entidade.PRODUTO, EventoCatalogo.Tipo.EXCLUIDO, id, null);
+    }
+
+    // Lista uma página de produtos usando paginação por cursor (keyset)
+    // cursor → token devolvido na página anterior (null para a primeira página)
+    // tamanho → quantidade de produtos por página (limitada a Pagina.TAMANHO_MAXIMO)
+    // ordem → "id", "nome" ou "preco"
+    // As páginas ficam em cache até a próxima alteração de produto ou categoria
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS_PAGINAS, key = "#ordem + ':' + #tamanho + ':' + #cursor")
+    public Pagina<ProdutoResumo> listarPagina(String cursor, int tamanho, String ordem) {
+
+        int tamanhoPagina = Pagina.limitarTamanho(tamanho);
+
+        // Busca um registro a mais para saber se existe próxima página
+        Pageable limite = PageRequest.of(0, tamanhoPagina + 1);
+
+        Cursor ultimo = cursor == null || cursor.isBlank() ? null : Cursor.decodificar(cursor, ordem);
+
+        List<ProdutoResumo> resultado = switch (ordem) {
+            case ORDEM_ID -> produtoRepository.findPaginaPorId(ultimo == null ? 0L : ultimo.id(), limite);
+            case ORDEM_NOME -> ultimo == null
+                    ? produtoRepository.findPrimeiraPaginaPorNome(limite)
+                    : produtoRepository.findPaginaPorNome(ultimo.valor(), ultimo.id(), limite);
+            case ORDEM_PRECO -> ultimo == null
+                    ? produtoRepository.findPrimeiraPaginaPorPreco(limite)
+                    : produtoRepository.findPaginaPorPreco(lerPreco(ultimo), ultimo.id(), limite);
+            default -> throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Ordenação inválida! Use id, nome ou preco.");
+        };
+
+        return Pagina.de(resultado, tamanhoPagina, produto -> criarCursor(produto, ordem));
+    }
+
+    // Lista uma página de produtos filtrados por categoria, faixa de preço e início do nome
+    // Os filtros informados viram uma única consulta dinâmica (ProdutoEspecificacoes), com a categoria
+    // no mesmo SELECT; a paginação é por cursor, como em listarPagina, com as mesmas ordenações
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS_PAGINAS,
+            key = "'filtro:' + #filtro + ':' + #ordem + ':' + #tamanho + ':' + #cursor")
+    public Pagina<ProdutoResumo> filtrar(FiltroProdutos filtro, String cursor, int tamanho, String ordem) {
+
+        if (filtro.precoMinimo() != null && filtro.precoMaximo() != null
+                && filtro.precoMinimo().compareTo(filtro.precoMaximo()) > 0) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "O preço mínimo não pode ser maior que o preço máximo!");
+        }
+
+        int tamanhoPagina = Pagina.limitarTamanho(tamanho);
+
+        // O id é sempre o desempate, para que a ordem (e o cursor) seja única
+        Sort ordenacao = switch (ordem) {
+            case ORDEM_ID -> Sort.by(ORDEM_ID);
+            case ORDEM_NOME -> Sort.by(ORDEM_NOME, ORDEM_ID);
+            case ORDEM_PRECO -> Sort.by(ORDEM_PRECO, ORDEM_ID);
+            default -> throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Ordenação inválida! Use id, nome ou preco.");
+        };
+
+        Cursor ultimo = cursor == null || cursor.isBlank() ? null : Cursor.decodificar(cursor, ordem);
+
+        Specification<Produto> depoisDoCursor = ultimo == null ? null : switch (ordem) {
+            case ORDEM_NOME -> ProdutoEspecificacoes.depoisDe(ORDEM_NOME, ultimo.valor(), ultimo.id());
+            case ORDEM_PRECO -> ProdutoEspecificacoes.depoisDe(ORDEM_PRECO, lerPreco(ultimo), ultimo.id());
+            default -> ProdutoEspecificacoes.depoisDoId(ultimo.id());
+        };
+
+        Specification<Produto> consulta = Specification.allOf(
+                ProdutoEspecificacoes.comCategoria(),
+                ProdutoEspecificacoes.dasCategorias(filtro.categorias()),
+                ProdutoEspecificacoes.precoMinimo(filtro.precoMinimo()),
+                ProdutoEspecificacoes.precoMaximo(filtro.precoMaximo()),
+                ProdutoEspecificacoes.nomeComecaCom(filtro.nome(), colacaoSemCaixa),
+                depoisDoCursor);
+
+        // Busca um registro a mais para saber se existe próxima página (sem a consulta de COUNT do Page)
+        List<ProdutoResumo> resultado = produtoRepository
+                .findBy(consulta, busca -> busca.sortBy(ordenacao).limit(tamanhoPagina + 1).all())
+                .stream()
+                .map(ProdutoResumo::de)
+                .toList();
+
+        return Pagina.de(resultado, tamanhoPagina, produto -> criarCursor(produto, ordem));
+    }
+
+    // Busca vários produtos por ID de uma vez (ex.: itens de um carrinho ou de uma receita)
+    // Os produtos que já estão no cache de produtos (o mesmo de buscarPorId) não vão ao banco;
+    // os demais são lidos em uma única consulta, com a categoria no mesmo SELECT, e guardados no cache.
+    // O resultado segue a ordem dos IDs pedidos, com encontrado = false para os IDs inexistentes.
+    public List<ProdutoLote> buscarLote(List<Long> ids) {
+
+        if (ids.isEmpty() || ids.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Informe de 1 a " + TAMANHO_MAXIMO_LOTE + " IDs!");
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUTOS);
+        Map<Long, Produto> encontrados = new HashMap<>();
+        Set<Long> ausentes = new LinkedHashSet<>();
+
+        for (Long id : ids) {
+            if (id == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ID inválido!");
+            }
+            Produto produto = cache.get(id, Produto.class);
+            if (produto != null) {
+                encontrados.put(id, produto);
+            } else {
+                ausentes.add(id);
+            }
+        }
+
+        if (!ausentes.isEmpty()) {
+            for (Produto produto : produtoRepository.findAllComCategoriaByIdIn(ausentes)) {
+                cache.put(produto.getId(), produto);
+                encontrados.put(produto.getId(), produto);
+            }
+        }
+
+        return ids.stream().map(id -> ProdutoLote.de(id, encontrados.get(id))).toList();
+    }
+
+    // Versão atual do catálogo, usada no ETag das listagens de produtos e de categorias
+    // (ambas embutem dados das duas tabelas). São duas consultas de agregação, e o resultado
+    // fica em cache até a próxima alteração de produto ou categoria, então um 304 Not Modified
+    // normalmente não consulta o banco
+    @Cacheable(cacheNames = CacheConfig.PRODUTOS_PAGINAS, key = "'versao'")
+    public String versaoCatalogo() {
+        return produtoRepository.findVersao().assinatura() + "-" + categoriaRepository.findVersao().assinatura();
+    }
+
+    // Gera o cursor apontando para o produto informado na ordenação informada
+    private String criarCursor(ProdutoResumo produto, String ordem) {
+        String valor = switch (ordem) {
+            case ORDEM_NOME -> produto.nome();
+            case ORDEM_PRECO -> produto.preco().toPlainString();
+            default -> null;
+        };
+        return new Cursor(ordem, produto.id(), valor).codificar();
+    }
+
+    private BigDecimal lerPreco(Cursor cursor) {
+        try {
+            return new BigDecimal(cursor.valor());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor de paginação inválido!");
+        }
+    }
+
+}
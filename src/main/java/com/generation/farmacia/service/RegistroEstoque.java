@@ -0,0 +1,219 @@
+package com.generation.farmacia.service;
+// Pacote onde o registro de estoque em memória está localizado
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.generation.farmacia.model.Estoque;
+import com.generation.farmacia.model.ReservaEstoque;
+import com.generation.farmacia.model.SaldoEstoque;
+
+// Saldo de estoque e reservas em memória, sem bloqueios
+// Cada produto tem um único AtomicLong com o disponível (32 bits altos) e o reservado (32 bits baixos),
+// alterado por compare-and-set: muitas compras simultâneas do mesmo produto não esperam um lock de linha
+// no banco, e nunca reservam mais do que o disponível.
+// A quantidade física (disponível + reservado) muda apenas na confirmação e no ajuste manual; cada
+// mudança incrementa a revisão do produto, e o EstoqueService grava em lote as revisões pendentes.
+// As reservas não são gravadas: se a aplicação reiniciar, elas são perdidas e o estoque volta a ficar disponível.
+// Supõe uma única instância da aplicação escrevendo no estoque.
+public class RegistroEstoque {
+
+    // Quantidade física de um produto a ser gravada no banco, com a revisão correspondente
+    public record Gravacao(Long produtoId, int quantidade, long revisao) {
+    }
+
+    private static final class Saldo {
+
+        // disponível << 32 | reservado
+        private final AtomicLong valor;
+
+        // Revisão da última alteração da quantidade física e da última gravada no banco
+        private final AtomicLong revisao;
+        private final AtomicLong revisaoGravada;
+
+        private Saldo(int quantidade, long revisao) {
+            this.valor = new AtomicLong(compactar(quantidade, 0));
+            this.revisao = new AtomicLong(revisao);
+            this.revisaoGravada = new AtomicLong(revisao);
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Saldo> saldos = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<UUID, ReservaEstoque> reservas = new ConcurrentHashMap<>();
+
+    // Lê o estoque gravado de um produto no primeiro acesso
+    private final Function<Long, Estoque> carregar;
+
+    public RegistroEstoque(Function<Long, Estoque> carregar) {
+        this.carregar = carregar;
+    }
+
+    public SaldoEstoque saldo(Long produtoId) {
+        return criarSaldo(produtoId, saldo(produtoId, true).valor.get());
+    }
+
+    // Reserva a quantidade se houver disponível (vazio se não houver)
+    public Optional<ReservaEstoque> reservar(Long produtoId, int quantidade, Instant expiraEm) {
+
+        Saldo saldo = saldo(produtoId, true);
+
+        while (true) {
+            long atual = saldo.valor.get();
+            int disponivel = disponivel(atual);
+            if (disponivel < quantidade) {
+                return Optional.empty();
+            }
+            if (saldo.valor.compareAndSet(atual, compactar(disponivel - quantidade, reservado(atual) + quantidade))) {
+                break;
+            }
+        }
+
+        ReservaEstoque reserva = new ReservaEstoque(UUID.randomUUID(), produtoId, quantidade, expiraEm);
+        reservas.put(reserva.id(), reserva);
+        return Optional.of(reserva);
+    }
+
+    // Confirma a compra: a quantidade reservada sai do estoque físico
+    // false se a reserva não existe (ou já foi confirmada, liberada ou expirou)
+    public boolean confirmar(Long produtoId, UUID reservaId) {
+
+        ReservaEstoque reserva = remover(produtoId, reservaId);
+        if (reserva == null) {
+            return false;
+        }
+
+        Saldo saldo = saldo(produtoId, true);
+        saldo.valor.getAndUpdate(atual -> compactar(disponivel(atual), reservado(atual) - reserva.quantidade()));
+        saldo.revisao.incrementAndGet();
+        return true;
+    }
+
+    // Cancela a reserva: a quantidade volta a ficar disponível
+    public boolean liberar(Long produtoId, UUID reservaId) {
+
+        ReservaEstoque reserva = remover(produtoId, reservaId);
+        if (reserva == null) {
+            return false;
+        }
+
+        saldo(produtoId, true).valor.getAndUpdate(atual ->
+                compactar(disponivel(atual) + reserva.quantidade(), reservado(atual) - reserva.quantidade()));
+        return true;
+    }
+
+    // Define a quantidade física (entrada de mercadoria, inventário)
+    // Vazio se a nova quantidade for menor que a já reservada
+    public Optional<SaldoEstoque> definirQuantidade(Long produtoId, int quantidade) {
+
+        Saldo saldo = saldo(produtoId, true);
+
+        while (true) {
+            long atual = saldo.valor.get();
+            int reservado = reservado(atual);
+            if (quantidade < reservado) {
+                return Optional.empty();
+            }
+            long novo = compactar(quantidade - reservado, reservado);
+            if (saldo.valor.compareAndSet(atual, novo)) {
+                saldo.revisao.incrementAndGet();
+                return Optional.of(criarSaldo(produtoId, novo));
+            }
+        }
+    }
+
+    // Libera as reservas vencidas; retorna quantas foram liberadas
+    public int liberarExpiradas(Instant agora) {
+
+        int liberadas = 0;
+
+        for (ReservaEstoque reserva : reservas.values()) {
+            if (reserva.expiraEm().isBefore(agora) && liberar(reserva.produtoId(), reserva.id())) {
+                liberadas++;
+            }
+        }
+
+        return liberadas;
+    }
+
+    // Produto excluído: descarta o saldo e as reservas (a linha do banco é removida em cascata)
+    public void descartar(Long produtoId) {
+        saldos.remove(produtoId);
+        reservas.values().removeIf(reserva -> reserva.produtoId().equals(produtoId));
+    }
+
+    // Quantidades alteradas desde a última gravação
+    // A revisão é lida antes da quantidade: se houver uma alteração no meio, a quantidade gravada já é
+    // a mais nova e a revisão maior continua pendente para a próxima gravação
+    public List<Gravacao> pendentes() {
+
+        List<Gravacao> pendentes = new ArrayList<>();
+
+        saldos.forEach((produtoId, saldo) -> {
+            long revisao = saldo.revisao.get();
+            if (revisao > saldo.revisaoGravada.get()) {
+                long atual = saldo.valor.get();
+                pendentes.add(new Gravacao(produtoId, disponivel(atual) + reservado(atual), revisao));
+            }
+        });
+
+        return pendentes;
+    }
+
+    public void marcarGravado(Gravacao gravacao) {
+        Saldo saldo = saldo(gravacao.produtoId(), false);
+        if (saldo != null) {
+            saldo.revisaoGravada.accumulateAndGet(gravacao.revisao(), Math::max);
+        }
+    }
+
+    // ====================== MÉTODOS AUXILIARES ======================
+
+    // A leitura do banco é feita fora do mapa (computeIfAbsent bloquearia a faixa do mapa durante a consulta);
+    // se outra thread carregar o mesmo produto ao mesmo tempo, prevalece o saldo que entrou primeiro
+    private Saldo saldo(Long produtoId, boolean carregarSeAusente) {
+
+        Saldo saldo = saldos.get(produtoId);
+
+        if (saldo != null || !carregarSeAusente) {
+            return saldo;
+        }
+
+        Estoque estoque = carregar.apply(produtoId);
+        Saldo novo = new Saldo(estoque.getQuantidade(), estoque.getRevisao());
+        Saldo existente = saldos.putIfAbsent(produtoId, novo);
+
+        return existente != null ? existente : novo;
+    }
+
+    // Remove a reserva apenas uma vez: chamadas repetidas ou simultâneas não devolvem o estoque em dobro
+    private ReservaEstoque remover(Long produtoId, UUID reservaId) {
+        ReservaEstoque reserva = reservas.get(reservaId);
+        if (reserva == null || !reserva.produtoId().equals(produtoId) || !reservas.remove(reservaId, reserva)) {
+            return null;
+        }
+        return reserva;
+    }
+
+    private static SaldoEstoque criarSaldo(Long produtoId, long valor) {
+        return new SaldoEstoque(produtoId, disponivel(valor) + reservado(valor), disponivel(valor), reservado(valor));
+    }
+
+    private static long compactar(int disponivel, int reservado) {
+        return ((long) disponivel << 32) | (reservado & 0xFFFFFFFFL);
+    }
+
+    private static int disponivel(long valor) {
+        return (int) (valor >>> 32);
+    }
+
+    private static int reservado(long valor) {
+        return (int) valor;
+    }
+}
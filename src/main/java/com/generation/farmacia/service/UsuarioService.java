@@ -3,9 +3,13 @@ package com.generation.farmacia.service;
 // Serviços em Spring são classes que contêm a lógica de negócios da aplicação
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,15 +18,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.generation.farmacia.model.Usuario;
+import com.generation.farmacia.model.UsuarioAtualizacao;
 import com.generation.farmacia.model.UsuarioLogin;
 import com.generation.farmacia.repository.UsuarioRepository;
 import com.generation.farmacia.security.JwtService;
+import com.generation.farmacia.security.LimiteSenhasException;
+import com.generation.farmacia.security.UserDetailsServiceImpl;
 
 @Service
 // Indica que esta classe é um componente do tipo Service do Spring
 // Ela será automaticamente gerenciada e injetada em outras partes do sistema
 public class UsuarioService {
 
+    // Formato de um hash BCrypt ($2a$, $2b$ ou $2y$ + custo + 53 caracteres)
+    private static final Pattern HASH_BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
     // Injeção de dependência do repositório de usuários (interface JPA)
     @Autowired
     private UsuarioRepository usuarioRepository;
@@ -39,6 +49,10 @@ public class UsuarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    // Injeção do serviço de usuários autenticados (para invalidar o cache após alterações)
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
     // Retorna todos os usuários cadastrados no banco de dados
     public List<Usuario> getAll() {
         return usuarioRepository.findAll();
@@ -52,11 +66,6 @@ public class UsuarioService {
     // Método para cadastrar um novo usuário
     public Optional<Usuario> cadastrarUsuario(Usuario usuario) {
 
-        // Verifica se já existe um usuário com o mesmo nome de login
-        if (usuarioRepository.findByUsuario(usuario.getUsuario()).isPresent()) {
-            return Optional.empty(); // Retorna vazio se já existir
-        }
-
         // Codifica (criptografa) a senha antes de salvar
         usuario.setSenha(passwordEncoder.encode(usuario.getSenha()));
 
@@ -64,30 +73,91 @@ public class UsuarioService {
         usuario.setId(null);
 
         // Salva o novo usuário e retorna o objeto salvo
-        return Optional.of(usuarioRepository.save(usuario));
+        // Não há consulta prévia: se o login já existir, o INSERT viola a restrição única
+        // e o cadastro é recusado (retorna vazio)
+        try {
+            return Optional.of(usuarioRepository.saveAndFlush(usuario));
+        } catch (DataIntegrityViolationException e) {
+            if (violouLoginUnico(e)) {
+                return Optional.empty();
+            }
+            throw e;
+        }
     }
 
     // Método para atualizar um usuário existente
     public Optional<Usuario> atualizarUsuario(Usuario usuario) {
 
         // Verifica se o ID informado existe no banco
-        if (!usuarioRepository.findById(usuario.getId()).isPresent()) {
+        Optional<Usuario> usuarioAtual = usuarioRepository.findById(usuario.getId());
+
+        if (!usuarioAtual.isPresent()) {
             return Optional.empty(); // Se não existir, retorna vazio
         }
 
-        // Verifica se o nome de usuário já está sendo usado por outro ID
-        Optional<Usuario> usuarioExistente = usuarioRepository.findByUsuario(usuario.getUsuario());
+        // Codifica a senha apenas se ela mudou: se o cliente devolveu o próprio hash salvo,
+        // a senha é mantida sem calcular um novo BCrypt
+        if (!usuario.getSenha().equals(usuarioAtual.get().getSenha())) {
+            usuario.setSenha(passwordEncoder.encode(usuario.getSenha()));
+        }
 
-        if (usuarioExistente.isPresent() && !usuarioExistente.get().getId().equals(usuario.getId())) {
-            // Lança erro 400 (Bad Request) se o nome de usuário já estiver em uso
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Usuário já existe!", null);
+        // Salva o usuário atualizado (login já usado por outro ID → 400 Bad Request)
+        Usuario salvo;
+        try {
+            salvo = usuarioRepository.saveAndFlush(usuario);
+        } catch (DataIntegrityViolationException e) {
+            throw erroLoginDuplicado(e);
         }
 
-        // Atualiza a senha codificando novamente
-        usuario.setSenha(passwordEncoder.encode(usuario.getSenha()));
+        // Remove do cache de autenticação o login antigo e o novo (caso tenha mudado)
+        userDetailsService.removerDoCache(usuarioAtual.get().getUsuario());
+        userDetailsService.removerDoCache(salvo.getUsuario());
 
-        // Salva e retorna o usuário atualizado
-        return Optional.of(usuarioRepository.save(usuario));
+        return Optional.of(salvo);
+    }
+
+    // Atualização parcial (PATCH): altera apenas os campos informados com um único UPDATE,
+    // sem carregar o usuário. Retorna false se o ID não existir.
+    public boolean atualizarParcialmente(UsuarioAtualizacao atualizacao) {
+
+        // A senha só é codificada quando foi informada e é diferente da salva: o cliente pode devolver
+        // o hash que recebeu, e nesse caso a senha atual é mantida sem calcular um novo BCrypt.
+        // Só um valor com formato de hash pode ser igual ao salvo, então só ele custa a leitura da senha pelo ID
+        String senha = null;
+        if (atualizacao.senha() != null) {
+            if (HASH_BCRYPT.matcher(atualizacao.senha()).matches()) {
+                Optional<String> senhaAtual = usuarioRepository.findSenhaById(atualizacao.id());
+                if (senhaAtual.isEmpty()) {
+                    return false;
+                }
+                if (!senhaAtual.get().equals(atualizacao.senha())) {
+                    senha = passwordEncoder.encode(atualizacao.senha());
+                }
+            } else {
+                senha = passwordEncoder.encode(atualizacao.senha());
+            }
+        }
+
+        // Login já usado por outro ID → o UPDATE viola a restrição única → 400 Bad Request
+        int alterados;
+        try {
+            alterados = usuarioRepository.atualizarParcialmente(atualizacao.id(), atualizacao.nome(),
+                    atualizacao.usuario(), senha, atualizacao.foto());
+        } catch (DataIntegrityViolationException e) {
+            throw erroLoginDuplicado(e);
+        }
+
+        if (alterados == 0) {
+            return false;
+        }
+
+        // O cache de autenticação guarda login e senha: como o login antigo não foi lido,
+        // o cache é esvaziado quando um dos dois muda
+        if (atualizacao.usuario() != null || senha != null) {
+            userDetailsService.limparCache();
+        }
+
+        return true;
     }
 
     // Método responsável por autenticar um usuário no login
@@ -111,12 +181,38 @@ public class UsuarioService {
                     // e constrói a resposta de login com o token JWT
                     .map(usuario -> construirRespostaLogin(login, usuario));
 
+        } catch (LimiteSenhasException e) {
+            // Fila de verificação de senhas cheia → 429 Too Many Requests (não é erro de credenciais)
+            throw e;
+
         } catch (Exception e) {
             // Se ocorrer qualquer erro (usuário/senha inválidos), retorna vazio
             return Optional.empty();
         }
     }
 
+    // Indica se a falha de integridade foi causada pela restrição de login único
+    // (o nome vem do Hibernate ou, se ele não conseguir extrair, da mensagem do banco)
+    private boolean violouLoginUnico(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            String referencia = causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null
+                    ? violacao.getConstraintName()
+                    : causa.getMessage();
+            if (referencia != null && referencia.toLowerCase(Locale.ROOT).contains(Usuario.UK_USUARIO)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Converte a violação do login único em 400 Bad Request (outras falhas seguem como estão)
+    private RuntimeException erroLoginDuplicado(DataIntegrityViolationException e) {
+        if (violouLoginUnico(e)) {
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Usuário já existe!", null);
+        }
+        return e;
+    }
+
     // Monta o objeto UsuarioLogin com as informações necessárias para o retorno do login
     private UsuarioLogin construirRespostaLogin(UsuarioLogin usuarioLogin, Usuario usuario) {
         usuarioLogin.setId(usuario.getId());
@@ -0,0 +1,69 @@
+package com.generation.farmacia.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Leitura e escrita de linhas CSV (RFC 4180: campos separados por vírgula,
+// aspas duplas para campos com vírgula/aspas e "" para aspas dentro do campo)
+// Campos com quebra de linha não são suportados: cada registro ocupa uma linha
+public final class Csv {
+
+    private static final char SEPARADOR = ',';
+    private static final char ASPAS = '"';
+
+    private Csv() {}
+
+    // Quebra uma linha CSV em campos
+    public static List<String> lerLinha(String linha) {
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+
+            if (entreAspas) {
+                if (c == ASPAS && i + 1 < linha.length() && linha.charAt(i + 1) == ASPAS) {
+                    campo.append(ASPAS);
+                    i++;
+                } else if (c == ASPAS) {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == ASPAS) {
+                entreAspas = true;
+            } else if (c == SEPARADOR) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha CSV");
+        }
+
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    // Escreve um campo, colocando entre aspas apenas quando necessário
+    public static String escapar(Object valor) {
+
+        if (valor == null) {
+            return "";
+        }
+
+        String texto = valor.toString();
+
+        if (texto.indexOf(SEPARADOR) < 0 && texto.indexOf(ASPAS) < 0
+                && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+
+        return ASPAS + texto.replace("\"", "\"\"") + ASPAS;
+    }
+}
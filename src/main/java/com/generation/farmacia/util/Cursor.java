@@ -0,0 +1,41 @@
+package com.generation.farmacia.util;
+// Pacote com classes utilitárias compartilhadas pela aplicação
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// Cursor opaco da paginação por chave (keyset/seek)
+// Guarda a ordenação usada, o valor da chave de ordenação e o ID do último registro retornado,
+// permitindo que a próxima página comece exatamente depois dele sem usar OFFSET
+public record Cursor(String ordem, Long id, String valor) {
+
+    private static final String SEPARADOR = "|";
+
+    // Gera o token enviado ao cliente (Base64 URL-safe, sem padding)
+    public String codificar() {
+        String conteudo = ordem + SEPARADOR + id + SEPARADOR + (valor == null ? "" : valor);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Reconstrói o cursor a partir do token recebido, validando que ele pertence à ordenação pedida
+    public static Cursor decodificar(String token, String ordemEsperada) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = conteudo.split("\\" + SEPARADOR, 3);
+
+            if (partes.length != 3 || !partes[0].equals(ordemEsperada)) {
+                throw new IllegalArgumentException();
+            }
+
+            return new Cursor(partes[0], Long.valueOf(partes[1]), partes[2]);
+
+        } catch (IllegalArgumentException e) {
+            // Token adulterado, truncado ou gerado para outra ordenação → 400 Bad Request
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor de paginação inválido!");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.generation.farmacia.util;
+// Pacote com classes utilitárias compartilhadas pela aplicação
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.VersaoTabela;
+
+// ETags e Last-Modified do catálogo, calculados a partir das colunas de versão (@Version) e de
+// data de alteração, sem serializar o corpo da resposta
+// Os ETags dos recursos individuais são fortes (usados também no If-Match das atualizações);
+// os das listagens são fracos (W/), o que permite ao Tomcat comprimir essas respostas
+// (server.compression não comprime respostas com ETag forte, que identifica os bytes exatos)
+public final class RequisicaoCondicional {
+
+    private RequisicaoCondicional() {
+    }
+
+    // O JSON do produto embute a categoria, então a versão dela também faz parte do ETag
+    public static String etag(Produto produto) {
+        Categoria categoria = produto.getCategoria();
+        return "\"p" + produto.getId() + "." + produto.getVersao()
+                + (categoria == null ? "" : "-c" + categoria.getId() + "." + categoria.getVersao()) + "\"";
+    }
+
+    // O JSON da categoria embute os produtos, então a versão deles também faz parte do ETag
+    public static String etag(Categoria categoria) {
+        return "\"c" + categoria.getId() + "." + categoria.getVersao() + "-"
+                + VersaoTabela.deProdutos(categoria.getProdutos()).assinatura() + "\"";
+    }
+
+    // ETag (fraco) de uma listagem a partir da versão do catálogo (ProdutoService.versaoCatalogo)
+    public static String etag(String listagem, String versaoCatalogo) {
+        return "W/\"" + listagem + "-" + versaoCatalogo + "\"";
+    }
+
+    // Data da última alteração do produto ou da sua categoria, em milissegundos (-1 se desconhecida)
+    public static long ultimaAlteracao(Produto produto) {
+        LocalDateTime ultima = produto.getAtualizadoEm();
+        if (produto.getCategoria() != null && produto.getCategoria().getAtualizadoEm() != null
+                && (ultima == null || produto.getCategoria().getAtualizadoEm().isAfter(ultima))) {
+            ultima = produto.getCategoria().getAtualizadoEm();
+        }
+        return ultima == null ? -1 : ultima.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // If-Match: a alteração só é aplicada se o cliente partiu da versão atual do recurso
+    // Ausente → sem verificação; "*" → qualquer versão; ETags fracos (W/) nunca conferem
+    // Versão diferente → 412 Precondition Failed
+    public static void verificarIfMatch(String ifMatch, String etagAtual) {
+
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+
+        for (String etag : ifMatch.split(",")) {
+            String valor = etag.trim();
+            if (valor.equals("*") || valor.equals(etagAtual)) {
+                return;
+            }
+        }
+
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                "O recurso foi alterado desde a última leitura! Busque a versão atual e tente novamente.");
+    }
+}
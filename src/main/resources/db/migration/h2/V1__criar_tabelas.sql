@@ -0,0 +1,30 @@
+-- Estrutura inicial (banco H2 em memória usado nos testes e benchmarks)
+
+CREATE TABLE tb_categorias (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    descricao VARCHAR(1000) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE SEQUENCE tb_produtos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tb_produtos (
+    id BIGINT NOT NULL,
+    nome VARCHAR(255) NOT NULL,
+    descricao VARCHAR(255) NOT NULL,
+    preco FLOAT(53) NOT NULL,
+    foto VARCHAR(255) NOT NULL,
+    categoria_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_produtos_categoria FOREIGN KEY (categoria_id) REFERENCES tb_categorias (id)
+);
+
+CREATE TABLE tb_usuarios (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nome VARCHAR(255) NOT NULL,
+    usuario VARCHAR(255) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    foto VARCHAR(5000),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_usuario UNIQUE (usuario)
+);
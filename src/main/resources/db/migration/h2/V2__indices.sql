@@ -0,0 +1,5 @@
+-- Índices usados pelas consultas da aplicação (mesmos do MySQL/PostgreSQL)
+
+CREATE INDEX idx_produtos_categoria ON tb_produtos (categoria_id);
+CREATE INDEX idx_produtos_nome ON tb_produtos (nome, id);
+CREATE INDEX idx_produtos_preco ON tb_produtos (preco, id);
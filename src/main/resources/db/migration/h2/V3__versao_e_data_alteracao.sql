@@ -0,0 +1,7 @@
+-- Controle de concorrência otimista (@Version) e data da última alteração (mesmas colunas do MySQL/PostgreSQL)
+
+ALTER TABLE tb_categorias ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE tb_categorias ADD COLUMN atualizado_em TIMESTAMP(6) DEFAULT LOCALTIMESTAMP NOT NULL;
+
+ALTER TABLE tb_produtos ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE tb_produtos ADD COLUMN atualizado_em TIMESTAMP(6) DEFAULT LOCALTIMESTAMP NOT NULL;
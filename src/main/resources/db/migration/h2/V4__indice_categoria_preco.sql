@@ -0,0 +1,4 @@
+-- Filtro por categoria e faixa de preço (GET /produtos/filtro): a igualdade na categoria e o intervalo
+-- de preço são resolvidos no mesmo índice, já na ordem de preço (id é o desempate da paginação)
+
+CREATE INDEX idx_produtos_categoria_preco ON tb_produtos (categoria_id, preco, id);
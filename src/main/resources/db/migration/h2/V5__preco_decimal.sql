@@ -0,0 +1,2 @@
+-- Preço exato em reais e centavos (mesma coluna DECIMAL(10,2) do MySQL/PostgreSQL)
+ALTER TABLE tb_produtos ALTER COLUMN preco SET DATA TYPE NUMERIC(10,2);
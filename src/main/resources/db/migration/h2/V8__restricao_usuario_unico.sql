@@ -0,0 +1,4 @@
+-- Bancos criados antes do Flyway (baseline na V1) não executaram a V1 e podem não ter a restrição
+-- única do login; bancos novos já a têm, então ela só é criada quando não existir
+-- Logins duplicados fazem a migração falhar e a aplicação não sobe até que sejam corrigidos
+ALTER TABLE tb_usuarios ADD CONSTRAINT IF NOT EXISTS uk_usuarios_usuario UNIQUE (usuario);
@@ -0,0 +1,36 @@
+-- Estrutura inicial (equivalente à gerada pelo Hibernate com ddl-auto=update)
+-- Bancos já existentes recebem esta versão como baseline (spring.flyway.baseline-version=1)
+
+CREATE TABLE tb_categorias (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    descricao VARCHAR(1000) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE tb_produtos (
+    id BIGINT NOT NULL,
+    nome VARCHAR(255) NOT NULL,
+    descricao VARCHAR(255) NOT NULL,
+    preco DOUBLE NOT NULL,
+    foto VARCHAR(255) NOT NULL,
+    categoria_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_produtos_categoria FOREIGN KEY (categoria_id) REFERENCES tb_categorias (id)
+) ENGINE = InnoDB;
+
+-- O MySQL não tem sequências: o Hibernate usa uma tabela com o próximo valor
+CREATE TABLE tb_produtos_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO tb_produtos_seq (next_val) VALUES (1);
+
+CREATE TABLE tb_usuarios (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(255) NOT NULL,
+    usuario VARCHAR(255) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    foto VARCHAR(5000),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_usuario UNIQUE (usuario)
+) ENGINE = InnoDB;
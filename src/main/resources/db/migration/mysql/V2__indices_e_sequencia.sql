@@ -0,0 +1,19 @@
+-- Índices usados pelas consultas da aplicação
+-- tb_produtos.categoria_id já é indexada pela chave estrangeira (o InnoDB cria o índice)
+-- tb_usuarios.usuario já é indexada pela restrição única uk_usuarios_usuario
+
+-- Paginação por cursor ordenada por nome e por preço (id é o desempate)
+CREATE INDEX idx_produtos_nome ON tb_produtos (nome, id);
+CREATE INDEX idx_produtos_preco ON tb_produtos (preco, id);
+
+-- Bancos criados antes da troca de IDENTITY por SEQUENCE: garante a tabela da sequência
+-- e ajusta o próximo valor para depois do maior ID existente
+CREATE TABLE IF NOT EXISTS tb_produtos_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO tb_produtos_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM tb_produtos_seq);
+
+UPDATE tb_produtos_seq
+SET next_val = (SELECT COALESCE(MAX(id), 0) + 51 FROM tb_produtos);
@@ -0,0 +1,10 @@
+-- Controle de concorrência otimista (@Version) e data da última alteração,
+-- usados nos ETags/Last-Modified das leituras do catálogo e no If-Match das atualizações
+
+ALTER TABLE tb_categorias
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN atualizado_em DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+ALTER TABLE tb_produtos
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN atualizado_em DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
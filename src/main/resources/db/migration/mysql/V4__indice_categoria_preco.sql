@@ -0,0 +1,7 @@
+-- Filtro por categoria e faixa de preço (GET /produtos/filtro): a igualdade na categoria e o intervalo
+-- de preço são resolvidos no mesmo índice, já na ordem de preço (id é o desempate da paginação)
+CREATE INDEX idx_produtos_categoria_preco ON tb_produtos (categoria_id, preco, id);
+
+-- Filtro pelo início do nome sem diferenciar maiúsculas/minúsculas: lower(nome) LIKE 'texto%'
+-- (índice funcional, MySQL 8.0.13+)
+CREATE INDEX idx_produtos_nome_minusculo ON tb_produtos ((lower(nome)));
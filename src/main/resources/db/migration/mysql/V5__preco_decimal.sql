@@ -0,0 +1,4 @@
+-- Preço exato em reais e centavos: DOUBLE → DECIMAL(10,2)
+-- Os valores existentes são arredondados para 2 casas decimais na conversão
+-- (o índice idx_produtos_preco é reconstruído pelo próprio ALTER TABLE)
+ALTER TABLE tb_produtos MODIFY preco DECIMAL(10,2) NOT NULL;
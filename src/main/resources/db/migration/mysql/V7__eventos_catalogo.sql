@@ -0,0 +1,25 @@
+-- Outbox das alterações do catálogo (GET /produtos/alteracoes)
+-- Cada inclusão, alteração ou exclusão de produto ou categoria grava um evento na mesma transação da escrita
+
+CREATE TABLE tb_eventos_catalogo (
+    id BIGINT NOT NULL,
+    entidade VARCHAR(20) NOT NULL,
+    tipo VARCHAR(20) NOT NULL,
+    entidade_id BIGINT NOT NULL,
+    versao BIGINT,
+    criado_em DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Limpeza dos eventos antigos (eventos.retencao)
+CREATE INDEX idx_eventos_catalogo_criado_em ON tb_eventos_catalogo (criado_em);
+
+-- Posição do último evento: o UPDATE do contador bloqueia a linha até o fim da transação, então as
+-- posições ficam visíveis na ordem em que foram geradas e sem lacunas (um rollback desfaz o contador também)
+CREATE TABLE tb_eventos_catalogo_seq (
+    id INT NOT NULL,
+    valor BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO tb_eventos_catalogo_seq (id, valor) VALUES (1, 0);
@@ -0,0 +1,19 @@
+-- Bancos criados antes do Flyway (baseline na V1) não executaram a V1 e podem não ter a restrição
+-- única do login; bancos novos já a têm, então ela só é criada quando não existir
+-- (o MySQL não tem ADD CONSTRAINT IF NOT EXISTS: o comando é montado conforme o information_schema)
+-- Logins duplicados fazem a migração falhar (Duplicate entry ... for key 'uk_usuarios_usuario')
+-- e a aplicação não sobe até que sejam corrigidos
+SET @restricao_existe = (
+    SELECT COUNT(*) FROM information_schema.TABLE_CONSTRAINTS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'tb_usuarios'
+      AND CONSTRAINT_NAME = 'uk_usuarios_usuario'
+);
+
+SET @comando = IF(@restricao_existe = 0,
+    'ALTER TABLE tb_usuarios ADD CONSTRAINT uk_usuarios_usuario UNIQUE (usuario)',
+    'DO 0');
+
+PREPARE restricao_usuario FROM @comando;
+EXECUTE restricao_usuario;
+DEALLOCATE PREPARE restricao_usuario;
@@ -0,0 +1,5 @@
+-- O índice funcional em lower(nome) não é usado pelo MySQL no LIKE 'texto%' do filtro por nome
+-- A collation padrão (utf8mb4_0900_ai_ci) já compara sem diferenciar maiúsculas/minúsculas, então no MySQL
+-- o filtro compara a própria coluna (nome LIKE 'texto%'), resolvido pelo índice idx_produtos_nome (nome, id)
+-- (H2 e PostgreSQL não têm esta migração: lá o filtro usa lower(nome) e o índice funcional continua)
+DROP INDEX idx_produtos_nome_minusculo ON tb_produtos;
@@ -0,0 +1,16 @@
+-- Índices usados pelas consultas da aplicação
+-- tb_usuarios.usuario já é indexada pela restrição única uk_usuarios_usuario
+
+-- O PostgreSQL não indexa chaves estrangeiras automaticamente
+-- (produtos da categoria, resumo de categorias, exclusão em cascata)
+CREATE INDEX IF NOT EXISTS idx_produtos_categoria ON tb_produtos (categoria_id);
+
+-- Paginação por cursor ordenada por nome e por preço (id é o desempate)
+CREATE INDEX IF NOT EXISTS idx_produtos_nome ON tb_produtos (nome, id);
+CREATE INDEX IF NOT EXISTS idx_produtos_preco ON tb_produtos (preco, id);
+
+-- Bancos criados antes da troca de IDENTITY por SEQUENCE: garante a sequência
+-- e ajusta o próximo valor para depois do maior ID existente
+CREATE SEQUENCE IF NOT EXISTS tb_produtos_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('tb_produtos_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM tb_produtos));
@@ -0,0 +1,10 @@
+-- Filtro por categoria e faixa de preço (GET /produtos/filtro): a igualdade na categoria e o intervalo
+-- de preço são resolvidos no mesmo índice, já na ordem de preço (id é o desempate da paginação)
+CREATE INDEX idx_produtos_categoria_preco ON tb_produtos (categoria_id, preco, id);
+
+-- O índice apenas por categoria_id é um prefixo do novo índice e deixa de ser necessário
+DROP INDEX IF EXISTS idx_produtos_categoria;
+
+-- Filtro pelo início do nome sem diferenciar maiúsculas/minúsculas: lower(nome) LIKE 'texto%'
+-- (text_pattern_ops permite usar o índice no LIKE com qualquer collation)
+CREATE INDEX idx_produtos_nome_minusculo ON tb_produtos (lower(nome) text_pattern_ops);
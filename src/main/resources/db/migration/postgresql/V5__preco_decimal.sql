@@ -0,0 +1,4 @@
+-- Preço exato em reais e centavos: DOUBLE PRECISION → NUMERIC(10,2)
+-- Os valores existentes são arredondados para 2 casas decimais na conversão
+-- (os índices que usam a coluna são reconstruídos pelo próprio ALTER TABLE)
+ALTER TABLE tb_produtos ALTER COLUMN preco TYPE NUMERIC(10,2) USING round(preco::numeric, 2);
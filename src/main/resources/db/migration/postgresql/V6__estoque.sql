@@ -0,0 +1,14 @@
+-- Estoque por produto (GET/PUT /produtos/{id}/estoque)
+-- As reservas ficam em memória (RegistroEstoque); aqui é gravada em lote apenas a quantidade física,
+-- com o número da revisão: a gravação só sobrescreve revisões mais antigas (UPDATE ... AND revisao < ?)
+
+CREATE TABLE tb_estoques (
+    produto_id BIGINT NOT NULL,
+    quantidade INT NOT NULL DEFAULT 0,
+    revisao BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (produto_id),
+    CONSTRAINT fk_estoques_produto FOREIGN KEY (produto_id) REFERENCES tb_produtos (id) ON DELETE CASCADE
+);
+
+-- Produtos já cadastrados começam com estoque zerado
+INSERT INTO tb_estoques (produto_id) SELECT id FROM tb_produtos;
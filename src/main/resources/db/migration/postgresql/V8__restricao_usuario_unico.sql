@@ -0,0 +1,23 @@
+-- Bancos criados antes do Flyway (baseline na V1) não executaram a V1 e podem não ter a restrição
+-- única do login; bancos novos já a têm, então ela só é criada quando não existir
+-- Logins duplicados fazem a migração falhar com a lista dos logins a corrigir
+DO $$
+DECLARE
+    duplicados TEXT;
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_constraint
+        WHERE conname = 'uk_usuarios_usuario'
+          AND conrelid = 'tb_usuarios'::regclass
+    ) THEN
+        SELECT string_agg(usuario, ', ') INTO duplicados
+        FROM (SELECT usuario FROM tb_usuarios GROUP BY usuario HAVING COUNT(*) > 1) repetidos;
+
+        IF duplicados IS NOT NULL THEN
+            RAISE EXCEPTION 'Logins duplicados em tb_usuarios: %. Corrija-os antes de criar uk_usuarios_usuario.', duplicados;
+        END IF;
+
+        ALTER TABLE tb_usuarios ADD CONSTRAINT uk_usuarios_usuario UNIQUE (usuario);
+    END IF;
+END
+$$;
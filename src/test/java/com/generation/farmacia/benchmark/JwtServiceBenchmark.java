@@ -0,0 +1,100 @@
+package com.generation.farmacia.benchmark;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.generation.farmacia.configuration.CacheConfig;
+import com.generation.farmacia.security.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+// Custo da autenticação JWT por requisição
+// antes → comportamento anterior: dois parsers construídos e duas verificações de assinatura
+// semCache → um parser reutilizado e uma única verificação (primeira requisição com o token)
+// comCache → token já verificado anteriormente (requisições seguintes com o mesmo token)
+// gerarToken / extrairUsuario → operações públicas usadas no login e nas requisições
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+	// Chave de 256 bits usada apenas no benchmark
+	static final String SEGREDO = "c2VncmVkby1kby1iZW5jaG1hcmstY29tLTMyLWJ5dGVzLW5vLW1pbmltbw==";
+
+	private JwtService jwtService;
+	private SecretKey chave;
+	private Cache tokens;
+	private String token;
+
+	@Setup
+	public void preparar() {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		cacheManager.registerCustomCache(CacheConfig.TOKENS, CacheConfig.criarCacheTokens(10_000));
+		tokens = cacheManager.getCache(CacheConfig.TOKENS);
+
+		jwtService = criarJwtService(cacheManager);
+		chave = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SEGREDO));
+		token = jwtService.generateToken("root@root.com");
+	}
+
+	@Benchmark
+	public boolean antes() {
+		String usuario = Jwts.parser().verifyWith(chave).build()
+				.parseSignedClaims(token).getPayload().getSubject();
+		Claims claims = Jwts.parser().verifyWith(chave).build()
+				.parseSignedClaims(token).getPayload();
+		return claims.getSubject().equals(usuario) && claims.getExpiration().after(new Date());
+	}
+
+	@Benchmark
+	public Claims semCache() {
+		tokens.clear();
+		return jwtService.validateToken(token);
+	}
+
+	@Benchmark
+	public Claims comCache() {
+		return jwtService.validateToken(token);
+	}
+
+	@Benchmark
+	public String gerarToken() {
+		return jwtService.generateToken("root@root.com");
+	}
+
+	@Benchmark
+	public String extrairUsuario() {
+		return jwtService.extractUsername(token);
+	}
+
+	// Monta o JwtService fora do contexto do Spring (mesma configuração usada pela aplicação)
+	static JwtService criarJwtService(CaffeineCacheManager cacheManager) {
+		JwtService jwtService = new JwtService();
+		ReflectionTestUtils.setField(jwtService, "secret", SEGREDO);
+		ReflectionTestUtils.setField(jwtService, "cacheManager", cacheManager);
+		ReflectionTestUtils.invokeMethod(jwtService, "init");
+		return jwtService;
+	}
+}
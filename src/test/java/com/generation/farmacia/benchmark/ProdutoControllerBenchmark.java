@@ -0,0 +1,125 @@
+package com.generation.farmacia.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.generation.farmacia.FarmaciaApplication;
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.security.JwtService;
+import com.generation.farmacia.service.ProdutoBuscaService;
+import com.generation.farmacia.service.UsuarioService;
+import com.generation.farmacia.util.TestBuilder;
+
+// Leituras de ponta a ponta no ProdutoController (HTTP + filtro JWT + banco H2 em memória)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProdutoControllerBenchmark {
+
+	private static final int QUANTIDADE_PRODUTOS = 1000;
+	private static final String USUARIO = "benchmark@email.com";
+
+	private ConfigurableApplicationContext contexto;
+	private HttpClient cliente;
+	private String baseUrl;
+	private String token;
+	private Long idProduto;
+
+	@Setup
+	public void iniciar() {
+		contexto = new SpringApplicationBuilder(FarmaciaApplication.class)
+				.properties(
+						"server.port=0",
+						"jwt.secret=" + JwtServiceBenchmark.SEGREDO,
+						"spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL",
+						"spring.jpa.show-sql=false",
+						"logging.level.root=WARN")
+				.run();
+
+		// Popula o banco com uma categoria e QUANTIDADE_PRODUTOS produtos
+		Categoria categoria = contexto.getBean(CategoriaRepository.class)
+				.save(TestBuilder.criarCategoria(null, "Medicamentos"));
+
+		List<Produto> produtos = new ArrayList<>();
+		for (int i = 1; i <= QUANTIDADE_PRODUTOS; i++) {
+			produtos.add(TestBuilder.criarProduto(null, "Produto " + i,
+					"Analgésico número " + i, 10.0 + i, categoria));
+		}
+		idProduto = contexto.getBean(ProdutoRepository.class).saveAll(produtos).get(0).getId();
+		contexto.getBean(ProdutoBuscaService.class).reconstruir();
+
+		contexto.getBean(UsuarioService.class)
+				.cadastrarUsuario(TestBuilder.criarUsuario(null, "Benchmark", USUARIO, "12345678"));
+		token = contexto.getBean(JwtService.class).generateToken(USUARIO);
+
+		baseUrl = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/produtos";
+		cliente = HttpClient.newHttpClient();
+	}
+
+	@TearDown
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public String buscarPorId() throws IOException, InterruptedException {
+		return get("/" + idProduto);
+	}
+
+	@Benchmark
+	public String listarPagina() throws IOException, InterruptedException {
+		return get("/pagina?tamanho=20&ordem=nome");
+	}
+
+	@Benchmark
+	public String buscarPorTexto() throws IOException, InterruptedException {
+		return get("/descricao/analges");
+	}
+
+	@Benchmark
+	public String listarTodos() throws IOException, InterruptedException {
+		return get("");
+	}
+
+	private String get(String caminho) throws IOException, InterruptedException {
+
+		HttpRequest requisicao = HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+				.header("Authorization", "Bearer " + token)
+				.GET()
+				.build();
+
+		HttpResponse<String> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+
+		if (resposta.statusCode() != 200) {
+			throw new IllegalStateException("GET " + caminho + " retornou " + resposta.statusCode());
+		}
+
+		return resposta.body();
+	}
+}
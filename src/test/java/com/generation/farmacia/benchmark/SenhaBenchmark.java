@@ -0,0 +1,54 @@
+package com.generation.farmacia.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.generation.farmacia.security.SecurityConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Custo do BCrypt configurado no SecurityConfig (cadastro/atualização e login de usuários)
+// Inclui a passagem pelo pool limitado de senhas (PasswordEncoderLimitado)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SenhaBenchmark {
+
+	private static final String SENHA = "rootroot";
+
+	private PasswordEncoder passwordEncoder;
+	private String senhaCodificada;
+
+	@Setup
+	public void preparar() {
+		// Usa exatamente o PasswordEncoder declarado como @Bean na aplicação (com os valores padrão)
+		passwordEncoder = ReflectionTestUtils.invokeMethod(new SecurityConfig(), "passwordEncoder", 0, 50, 1L,
+				new SimpleMeterRegistry());
+		senhaCodificada = passwordEncoder.encode(SENHA);
+	}
+
+	@Benchmark
+	public String codificar() {
+		return passwordEncoder.encode(SENHA);
+	}
+
+	@Benchmark
+	public boolean verificar() {
+		return passwordEncoder.matches(SENHA, senhaCodificada);
+	}
+}
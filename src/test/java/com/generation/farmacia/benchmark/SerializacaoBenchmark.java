@@ -0,0 +1,135 @@
+package com.generation.farmacia.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.generation.farmacia.configuration.JacksonConfig;
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.ProdutoResumo;
+import com.generation.farmacia.util.TestBuilder;
+
+// Custo da serialização JSON (Jackson) dos grafos Produto → Categoria e Categoria → Produtos
+// e das listagens com ProdutoResumo: completo, apenas alguns campos (?campos=id,nome,preco)
+// e comprimidas com gzip (como o server.compression do Tomcat)
+// O tamanho em bytes de cada variante (JSON e gzip) é exibido ao final de cada execução
+// Executar com: ./mvnw -Pbenchmark verify -Djmh.include=SerializacaoBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+	@Param({ "20", "1000" })
+	private int quantidade;
+
+	// Campos de uma listagem enxuta (nome e preço para exibir, id para abrir o produto)
+	private static final Set<String> CAMPOS = Set.of("id", "nome", "preco");
+
+	private ObjectMapper objectMapper;
+	private ObjectWriter escritorCampos;
+	private List<Produto> produtos;
+	private List<ProdutoResumo> resumos;
+	private Categoria categoria;
+
+	@Setup
+	public void preparar() {
+		// Mesmo construtor de ObjectMapper usado pelo Spring MVC
+		objectMapper = Jackson2ObjectMapperBuilder.json().filters(JacksonConfig.filtros(null)).build();
+		escritorCampos = objectMapper.writer(JacksonConfig.filtros(CAMPOS));
+
+		categoria = TestBuilder.criarCategoria(1L, "Medicamentos");
+		produtos = new ArrayList<>();
+
+		for (long i = 1; i <= quantidade; i++) {
+			produtos.add(TestBuilder.criarProduto(i, "Produto " + i,
+					"Descrição do produto " + i, 10.0 + i, categoria));
+		}
+
+		categoria.setProdutos(produtos);
+
+		resumos = produtos.stream()
+				.map(produto -> new ProdutoResumo(produto.getId(), produto.getNome(), produto.getDescricao(),
+						produto.getPreco(), "https://ik.imagekit.io/farmacia/produtos/" + produto.getId() + ".jpg",
+						categoria.getId(), categoria.getDescricao()))
+				.toList();
+	}
+
+	@TearDown
+	public void exibirTamanhos() throws IOException {
+		System.out.printf("%nBytes para %d produtos (JSON / gzip):%n", quantidade);
+		exibirTamanho("Produto (entidade)", objectMapper.writeValueAsBytes(produtos));
+		exibirTamanho("ProdutoResumo", objectMapper.writeValueAsBytes(resumos));
+		exibirTamanho("ProdutoResumo ?campos=id,nome,preco", escritorCampos.writeValueAsBytes(resumos));
+	}
+
+	@Benchmark
+	public byte[] listaDeProdutos() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(produtos);
+	}
+
+	@Benchmark
+	public byte[] categoriaComProdutos() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(categoria);
+	}
+
+	@Benchmark
+	public byte[] listaDeResumos() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(resumos);
+	}
+
+	@Benchmark
+	public byte[] listaDeResumosComCampos() throws JsonProcessingException {
+		return escritorCampos.writeValueAsBytes(resumos);
+	}
+
+	@Benchmark
+	public byte[] listaDeResumosGzip() throws IOException {
+		return gzip(objectMapper.writer(), resumos);
+	}
+
+	@Benchmark
+	public byte[] listaDeResumosComCamposGzip() throws IOException {
+		return gzip(escritorCampos, resumos);
+	}
+
+	private static byte[] gzip(ObjectWriter escritor, Object valor) throws IOException {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		try (GZIPOutputStream compactador = new GZIPOutputStream(saida)) {
+			escritor.writeValue(compactador, valor);
+		}
+		return saida.toByteArray();
+	}
+
+	private static void exibirTamanho(String descricao, byte[] json) throws IOException {
+		ByteArrayOutputStream compactado = new ByteArrayOutputStream();
+		try (GZIPOutputStream compactador = new GZIPOutputStream(compactado)) {
+			compactador.write(json);
+		}
+		System.out.printf("  %-40s %10d / %10d%n", descricao, json.length, compactado.size());
+	}
+}
@@ -0,0 +1,130 @@
+package com.generation.farmacia.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.generation.farmacia.FarmaciaApplication;
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.security.JwtService;
+import com.generation.farmacia.service.UsuarioService;
+import com.generation.farmacia.util.TestBuilder;
+
+// Teste de carga comparando o modelo de execução das requisições:
+// threadsVirtuais=false → pool de threads de plataforma do Tomcat (padrão, 200 threads)
+// threadsVirtuais=true → uma thread virtual por requisição (spring.threads.virtual.enabled)
+// São 400 clientes simultâneos (mais que o pool padrão) em endpoints que consultam o banco.
+// Throughput → requisições por segundo; SampleTime → distribuição da latência (p50/p99 no resultado)
+// Executar com: ./mvnw -Pbenchmark verify -Djmh.include=ThreadsVirtuaisBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class ThreadsVirtuaisBenchmark {
+
+	private static final int QUANTIDADE_PRODUTOS = 200;
+	private static final String USUARIO = "carga@email.com";
+
+	@Param({ "false", "true" })
+	public boolean threadsVirtuais;
+
+	private ConfigurableApplicationContext contexto;
+	private HttpClient cliente;
+	private String baseUrl;
+	private String token;
+
+	@Setup
+	public void iniciar() {
+		contexto = new SpringApplicationBuilder(FarmaciaApplication.class)
+				.properties(
+						"server.port=0",
+						"spring.threads.virtual.enabled=" + threadsVirtuais,
+						"jwt.secret=" + JwtServiceBenchmark.SEGREDO,
+						"spring.datasource.url=jdbc:h2:mem:carga-" + threadsVirtuais + ";MODE=MySQL",
+						"spring.jpa.show-sql=false",
+						"logging.level.root=WARN")
+				.run();
+
+		Categoria categoria = contexto.getBean(CategoriaRepository.class)
+				.save(TestBuilder.criarCategoria(null, "Medicamentos"));
+
+		List<Produto> produtos = new ArrayList<>();
+		for (int i = 1; i <= QUANTIDADE_PRODUTOS; i++) {
+			produtos.add(TestBuilder.criarProduto(null, "Produto " + i,
+					"Analgésico número " + i, 10.0 + i, categoria));
+		}
+		contexto.getBean(ProdutoRepository.class).saveAll(produtos);
+
+		contexto.getBean(UsuarioService.class)
+				.cadastrarUsuario(TestBuilder.criarUsuario(null, "Carga", USUARIO, "12345678"));
+		token = contexto.getBean(JwtService.class).generateToken(USUARIO);
+
+		baseUrl = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+
+		// O cliente também usa threads virtuais, para não ser ele o gargalo com 400 conexões
+		cliente = HttpClient.newBuilder()
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+	}
+
+	@TearDown
+	public void encerrar() {
+		contexto.close();
+	}
+
+	// Listagem completa: uma consulta ao banco por requisição (sem cache)
+	@Benchmark
+	public String listarProdutos() throws IOException, InterruptedException {
+		return get("/produtos");
+	}
+
+	// Resumo das categorias: consulta de agregação (cacheada após a primeira requisição)
+	@Benchmark
+	public String resumoCategorias() throws IOException, InterruptedException {
+		return get("/categorias/resumo");
+	}
+
+	private String get(String caminho) throws IOException, InterruptedException {
+
+		HttpRequest requisicao = HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+				.header("Authorization", "Bearer " + token)
+				.GET()
+				.build();
+
+		HttpResponse<String> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+
+		if (resposta.statusCode() != 200) {
+			throw new IllegalStateException("GET " + caminho + " retornou " + resposta.statusCode());
+		}
+
+		return resposta.body();
+	}
+}
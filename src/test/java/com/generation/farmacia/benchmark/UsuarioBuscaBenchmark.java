@@ -0,0 +1,109 @@
+package com.generation.farmacia.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.generation.farmacia.FarmaciaApplication;
+import com.generation.farmacia.model.Usuario;
+import com.generation.farmacia.repository.UsuarioRepository;
+import com.generation.farmacia.security.UserDetailsServiceImpl;
+
+// Latência da busca de usuário pelo login com 1 milhão de usuários cadastrados
+// indice=true → tabela com a restrição única uk_usuarios_usuario (busca pelo índice)
+// indice=false → restrição removida, como era antes (varredura da tabela a cada busca)
+// buscarPorLogin → UsuarioRepository.findByUsuario (login, cadastro e atualização)
+// carregarUsuario → UserDetailsServiceImpl.loadUserByUsername (sem o cache de principais)
+// Executar com: ./mvnw -Pbenchmark verify -Djmh.include=UsuarioBuscaBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class UsuarioBuscaBenchmark {
+
+	private static final int QUANTIDADE_USUARIOS = 1_000_000;
+	private static final int TAMANHO_LOTE = 10_000;
+
+	// Hash fixo: o benchmark mede a busca, não o BCrypt do cadastro
+	private static final String SENHA = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2sYnFv1oQ9vHk0Yv5JpA3e.";
+
+	@Param({ "true", "false" })
+	public boolean indice;
+
+	private ConfigurableApplicationContext contexto;
+	private UsuarioRepository usuarioRepository;
+	private UserDetailsServiceImpl userDetailsService;
+
+	@Setup
+	public void iniciar() {
+		contexto = new SpringApplicationBuilder(FarmaciaApplication.class)
+				.properties(
+						"server.port=0",
+						"jwt.secret=" + JwtServiceBenchmark.SEGREDO,
+						"spring.datasource.url=jdbc:h2:mem:usuarios-" + indice + ";MODE=MySQL",
+						"spring.jpa.show-sql=false",
+						"logging.level.root=WARN")
+				.run();
+
+		JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+
+		if (!indice) {
+			jdbcTemplate.execute("ALTER TABLE tb_usuarios DROP CONSTRAINT " + Usuario.UK_USUARIO);
+		}
+
+		// Inserção direta em lotes (JDBC batch) para popular a tabela rapidamente
+		for (int inicio = 0; inicio < QUANTIDADE_USUARIOS; inicio += TAMANHO_LOTE) {
+			List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+			for (int i = inicio; i < inicio + TAMANHO_LOTE; i++) {
+				lote.add(new Object[] { "Usuário " + i, login(i), SENHA, "-" });
+			}
+			jdbcTemplate.batchUpdate("INSERT INTO tb_usuarios (nome, usuario, senha, foto) VALUES (?, ?, ?, ?)", lote);
+		}
+
+		usuarioRepository = contexto.getBean(UsuarioRepository.class);
+		userDetailsService = contexto.getBean(UserDetailsServiceImpl.class);
+	}
+
+	@TearDown
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public Usuario buscarPorLogin() {
+		return usuarioRepository.findByUsuario(loginAleatorio()).orElseThrow();
+	}
+
+	@Benchmark
+	public UserDetails carregarUsuario() {
+		return userDetailsService.loadUserByUsername(loginAleatorio());
+	}
+
+	private static String loginAleatorio() {
+		return login(ThreadLocalRandom.current().nextInt(QUANTIDADE_USUARIOS));
+	}
+
+	private static String login(int numero) {
+		return "usuario" + numero + "@email.com";
+	}
+}
@@ -0,0 +1,126 @@
+package com.generation.farmacia.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+public class ConsultasLentasDataSourceTest {
+
+	private final Logger logger = (Logger) LoggerFactory.getLogger("farmacia.consultas-lentas");
+	private final ListAppender<ILoggingEvent> registros = new ListAppender<>();
+	private final JdbcDataSource banco = new JdbcDataSource();
+
+	@BeforeEach
+	void inicio() {
+		banco.setURL("jdbc:h2:mem:consultas_lentas;DB_CLOSE_DELAY=-1");
+		registros.start();
+		logger.addAppender(registros);
+	}
+
+	@AfterEach
+	void fim() {
+		logger.detachAppender(registros);
+		MDC.clear();
+	}
+
+	@Test
+	@DisplayName("01 - Deve ocultar textos e números literais do SQL")
+	void deveOcultarValores() {
+		assertEquals("SELECT * FROM tb_usuarios WHERE usuario = ? AND id > ? LIMIT ?",
+				ConsultasLentasDataSource.ocultarValores(
+						"SELECT *\n  FROM tb_usuarios WHERE usuario = 'ana@email.com' AND id > 42 LIMIT 10"));
+		assertEquals("UPDATE tb_produtos SET nome = ?, preco = ? WHERE id = ?",
+				ConsultasLentasDataSource.ocultarValores(
+						"UPDATE tb_produtos SET nome = 'Gotas d''água, 10ml', preco = 12.50 WHERE id = ?"));
+
+		// Números que fazem parte de nomes (tabelas, colunas, aliases) são mantidos
+		assertEquals("SELECT p1_0.id FROM tb_produtos p1_0",
+				ConsultasLentasDataSource.ocultarValores("SELECT p1_0.id FROM tb_produtos p1_0"));
+		assertEquals("", ConsultasLentasDataSource.ocultarValores(null));
+	}
+
+	@Test
+	@DisplayName("02 - Deve registrar comandos acima do limite sem os valores e com o endpoint")
+	void deveRegistrarConsultaLenta() throws SQLException {
+		ConsultasLentasDataSource dataSource = new ConsultasLentasDataSource(banco, Duration.ZERO, 1.0);
+		MDC.put(ConsultasLentasDataSource.MDC_ENDPOINT, "ProdutoController.getAll");
+
+		try (Connection conexao = dataSource.getConnection();
+				PreparedStatement consulta = conexao.prepareStatement(
+						"SELECT CAST(? AS VARCHAR) AS usuario, 'ana@email.com' AS email");
+				Statement comando = conexao.createStatement()) {
+			consulta.setString(1, "bruno@email.com");
+			consulta.executeQuery().close();
+			comando.execute("SELECT 42");
+		}
+
+		List<String> mensagens = registros.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+		assertEquals(2, mensagens.size());
+		assertTrue(registros.list.stream().allMatch(evento -> evento.getLevel() == Level.WARN));
+
+		assertTrue(mensagens.get(0).contains("endpoint=ProdutoController.getAll"));
+		assertTrue(mensagens.get(0).endsWith("sql=\"SELECT CAST(? AS VARCHAR) AS usuario, ? AS email\""));
+		assertTrue(mensagens.get(1).endsWith("sql=\"SELECT ?\""));
+		assertFalse(mensagens.stream().anyMatch(mensagem -> mensagem.contains("@email.com")));
+	}
+
+	@Test
+	@DisplayName("03 - Deve registrar o SQL preparado também na execução em lote")
+	void deveRegistrarLote() throws SQLException {
+		ConsultasLentasDataSource dataSource = new ConsultasLentasDataSource(banco, Duration.ZERO, 1.0);
+
+		try (Connection conexao = dataSource.getConnection()) {
+			try (Statement comando = conexao.createStatement()) {
+				comando.execute("CREATE TABLE IF NOT EXISTS tb_lote (valor INT)");
+			}
+			registros.list.clear();
+
+			try (PreparedStatement insercao = conexao.prepareStatement("INSERT INTO tb_lote (valor) VALUES (?)")) {
+				for (int i = 0; i < 3; i++) {
+					insercao.setInt(1, i);
+					insercao.addBatch();
+				}
+				insercao.executeBatch();
+			}
+		}
+
+		assertEquals(1, registros.list.size());
+		assertTrue(registros.list.get(0).getFormattedMessage().contains("endpoint=- sql=\"INSERT INTO tb_lote (valor) VALUES (?)\""));
+	}
+
+	@Test
+	@DisplayName("04 - Não deve registrar comandos abaixo do limite ou fora da amostragem")
+	void naoDeveRegistrarConsultaRapida() throws SQLException {
+		executar(new ConsultasLentasDataSource(banco, Duration.ofHours(1), 1.0), "SELECT 1");
+		executar(new ConsultasLentasDataSource(banco, Duration.ZERO, 0.0), "SELECT 1");
+
+		assertTrue(registros.list.isEmpty());
+	}
+
+	private static void executar(ConsultasLentasDataSource dataSource, String sql) throws SQLException {
+		try (Connection conexao = dataSource.getConnection();
+				Statement comando = conexao.createStatement()) {
+			comando.executeQuery(sql).close();
+		}
+	}
+}
@@ -0,0 +1,245 @@
+package com.generation.farmacia.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.generation.farmacia.model.AlteracoesCatalogo;
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.EventoCatalogo;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.ProdutoLote;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.service.UsuarioService;
+import com.generation.farmacia.util.JwtHelper;
+import com.generation.farmacia.util.TestBuilder;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.DisplayName.class)
+public class ProdutoControllerTest {
+
+	@Autowired
+	private TestRestTemplate testRestTemplate;
+
+	@Autowired
+	private UsuarioService usuarioService;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private ProdutoRepository produtoRepository;
+
+	private static final String BASE_URL = "/produtos";
+	private static final String USUARIO = "produtos@email.com";
+	private static final String SENHA = "12345678";
+
+	private String token;
+	private Produto produto;
+
+	@BeforeAll
+	void inicio() {
+		usuarioService.cadastrarUsuario(TestBuilder.criarUsuario(null, "Produtos", USUARIO, SENHA));
+		token = JwtHelper.obterToken(testRestTemplate, USUARIO, SENHA);
+
+		Categoria categoria = categoriaRepository.save(TestBuilder.criarCategoria(null, "Vitaminas"));
+		produto = produtoRepository.save(TestBuilder.criarProduto(null, "Vitamina C", "Vitamina C 1g", 25.0, categoria));
+	}
+
+	@Test
+	@DisplayName("01 - Deve retornar 304 quando o cliente já tem a versão atual do produto")
+	void deveRetornarNaoModificadoComIfNoneMatch() {
+		// Given
+		ResponseEntity<Produto> primeira = get(BASE_URL + "/" + produto.getId(), null);
+		String etag = primeira.getHeaders().getETag();
+
+		// When
+		ResponseEntity<Produto> resposta = get(BASE_URL + "/" + produto.getId(), etag);
+
+		// Then
+		assertEquals(HttpStatus.OK, primeira.getStatusCode());
+		assertNotNull(etag);
+		assertEquals(HttpStatus.NOT_MODIFIED, resposta.getStatusCode());
+		assertNull(resposta.getBody());
+	}
+
+	@Test
+	@DisplayName("02 - Deve retornar 304 na listagem enquanto o catálogo não mudar")
+	void deveRetornarNaoModificadoNaListagem() {
+		// Given
+		String etag = get(BASE_URL, null, String.class).getHeaders().getETag();
+
+		// When
+		ResponseEntity<String> resposta = get(BASE_URL, etag, String.class);
+
+		// Then
+		assertNotNull(etag);
+		assertEquals(HttpStatus.NOT_MODIFIED, resposta.getStatusCode());
+	}
+
+	@Test
+	@DisplayName("03 - Deve atualizar o produto e gerar um novo ETag")
+	void deveAtualizarProdutoComIfMatch() {
+		// Given
+		ResponseEntity<Produto> atual = get(BASE_URL + "/" + produto.getId(), null);
+		String etag = atual.getHeaders().getETag();
+		Produto alterado = atual.getBody();
+		alterado.setPreco(new BigDecimal("27.50"));
+
+		// When
+		ResponseEntity<Produto> resposta = put(alterado, etag);
+
+		// Then
+		assertEquals(HttpStatus.OK, resposta.getStatusCode());
+		assertEquals(alterado.getVersao() + 1, resposta.getBody().getVersao());
+		assertEquals(HttpStatus.OK, get(BASE_URL + "/" + produto.getId(), etag).getStatusCode());
+	}
+
+	@Test
+	@DisplayName("04 - Não deve atualizar o produto a partir de uma versão desatualizada")
+	void naoDeveAtualizarProdutoDesatualizado() {
+		// Given
+		Produto atual = get(BASE_URL + "/" + produto.getId(), null).getBody();
+		Produto desatualizado = get(BASE_URL + "/" + produto.getId(), null).getBody();
+		desatualizado.setVersao(desatualizado.getVersao() - 1);
+
+		// When
+		ResponseEntity<Produto> comIfMatch = put(atual, "\"p" + produto.getId() + ".0\"");
+		ResponseEntity<Produto> semIfMatch = put(desatualizado, null);
+
+		// Then
+		assertEquals(HttpStatus.PRECONDITION_FAILED, comIfMatch.getStatusCode());
+		assertEquals(HttpStatus.CONFLICT, semIfMatch.getStatusCode());
+	}
+
+	@Test
+	@DisplayName("05 - Deve listar apenas os campos escolhidos")
+	void deveListarApenasCamposEscolhidos() {
+		// When
+		ResponseEntity<String> resposta = get(BASE_URL + "?campos=id,nome", null, String.class);
+		ResponseEntity<String> invalido = get(BASE_URL + "?campos=id,senha", null, String.class);
+
+		// Then
+		assertEquals(HttpStatus.OK, resposta.getStatusCode());
+		assertTrue(resposta.getBody().contains("\"nome\":\"Vitamina C\""));
+		assertFalse(resposta.getBody().contains("\"descricao\""));
+		assertEquals(HttpStatus.BAD_REQUEST, invalido.getStatusCode());
+	}
+
+	@Test
+	@DisplayName("06 - Deve buscar vários produtos por ID na ordem pedida")
+	void deveBuscarLoteNaOrdemPedida() {
+		// Given
+		Produto outro = produtoRepository.save(TestBuilder.criarProduto(null, "Vitamina D", "Vitamina D 2000UI", 30.0,
+				produto.getCategoria()));
+		long inexistente = outro.getId() + 1000;
+
+		// When
+		ResponseEntity<ProdutoLote[]> resposta = get(BASE_URL + "/lote?ids=" + outro.getId() + "," + inexistente
+				+ "," + produto.getId(), null, ProdutoLote[].class);
+
+		// Then
+		assertEquals(HttpStatus.OK, resposta.getStatusCode());
+		assertEquals(List.of(outro.getId(), inexistente, produto.getId()),
+				Arrays.stream(resposta.getBody()).map(ProdutoLote::id).toList());
+		assertEquals("Vitamina D", resposta.getBody()[0].produto().getNome());
+		assertFalse(resposta.getBody()[1].encontrado());
+		assertNull(resposta.getBody()[1].produto());
+		assertTrue(resposta.getBody()[2].encontrado());
+		assertEquals(HttpStatus.BAD_REQUEST, get(BASE_URL + "/lote?ids=", null, String.class).getStatusCode());
+	}
+
+	@Test
+	@DisplayName("07 - Deve entregar as alterações do catálogo a partir do cursor")
+	void deveEntregarAlteracoesDesdeOCursor() throws Exception {
+		// Given
+		long cursor = get(BASE_URL + "/alteracoes", null, AlteracoesCatalogo.class).getBody().cursor();
+		AlteracoesCatalogo semAlteracoes = get(BASE_URL + "/alteracoes?espera=0&desde=" + cursor, null,
+				AlteracoesCatalogo.class).getBody();
+
+		// When
+		put(get(BASE_URL + "/" + produto.getId(), null).getBody(), null);
+		AlteracoesCatalogo alteracoes = get(BASE_URL + "/alteracoes?espera=0&desde=" + cursor, null,
+				AlteracoesCatalogo.class).getBody();
+
+		// Long polling: a requisição aguarda até a próxima alteração
+		CompletableFuture<ResponseEntity<AlteracoesCatalogo>> aguardando = CompletableFuture.supplyAsync(() ->
+				get(BASE_URL + "/alteracoes?espera=10&desde=" + alteracoes.cursor(), null, AlteracoesCatalogo.class));
+		put(get(BASE_URL + "/" + produto.getId(), null).getBody(), null);
+		AlteracoesCatalogo seguintes = aguardando.get(15, TimeUnit.SECONDS).getBody();
+
+		// Then
+		assertTrue(semAlteracoes.eventos().isEmpty());
+		assertEquals(cursor, semAlteracoes.cursor());
+		assertEquals(1, alteracoes.eventos().size());
+		assertEquals(EventoCatalogo.Entidade.PRODUTO, alteracoes.eventos().get(0).getEntidade());
+		assertEquals(EventoCatalogo.Tipo.ALTERADO, alteracoes.eventos().get(0).getTipo());
+		assertEquals(produto.getId(), alteracoes.eventos().get(0).getEntidadeId());
+		assertEquals(cursor + 1, alteracoes.cursor());
+		assertEquals(1, seguintes.eventos().size());
+		assertEquals(cursor + 2, seguintes.cursor());
+	}
+
+	@Test
+	@DisplayName("08 - Deve exportar o catálogo em CSV para o usuário autenticado")
+	void deveExportarCatalogo() {
+		// When
+		ResponseEntity<String> resposta = get(BASE_URL + "/exportar?formato=csv", null, String.class);
+		ResponseEntity<String> semToken = testRestTemplate.getForEntity(BASE_URL + "/exportar", String.class);
+
+		// Then
+		assertEquals(HttpStatus.OK, resposta.getStatusCode());
+		assertEquals("attachment; filename=produtos.csv",
+				resposta.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+		assertTrue(resposta.getBody().startsWith("id,nome,descricao,preco,foto,categoria\n"));
+		assertTrue(resposta.getBody().contains(produto.getId() + ",Vitamina C,Vitamina C 1g,"));
+		assertEquals(HttpStatus.UNAUTHORIZED, semToken.getStatusCode());
+	}
+
+	private ResponseEntity<Produto> get(String url, String ifNoneMatch) {
+		return get(url, ifNoneMatch, Produto.class);
+	}
+
+	private <T> ResponseEntity<T> get(String url, String ifNoneMatch, Class<T> tipo) {
+		HttpHeaders cabecalho = new HttpHeaders();
+		cabecalho.setBearerAuth(token);
+		if (ifNoneMatch != null) {
+			cabecalho.setIfNoneMatch(ifNoneMatch);
+		}
+		return testRestTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(cabecalho), tipo);
+	}
+
+	private ResponseEntity<Produto> put(Produto corpo, String ifMatch) {
+		HttpHeaders cabecalho = new HttpHeaders();
+		cabecalho.setBearerAuth(token);
+		if (ifMatch != null) {
+			cabecalho.setIfMatch(ifMatch);
+		}
+		return testRestTemplate.exchange(BASE_URL, HttpMethod.PUT, new HttpEntity<>(corpo, cabecalho), Produto.class);
+	}
+}
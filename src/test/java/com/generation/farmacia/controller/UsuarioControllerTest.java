@@ -1,8 +1,11 @@
 package com.generation.farmacia.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Optional;
 
@@ -19,9 +22,13 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.generation.farmacia.model.Usuario;
+import com.generation.farmacia.model.UsuarioAtualizacao;
 import com.generation.farmacia.repository.UsuarioRepository;
+import com.generation.farmacia.security.UserDetailsServiceImpl;
 import com.generation.farmacia.service.UsuarioService;
 import com.generation.farmacia.util.JwtHelper;
 import com.generation.farmacia.util.TestBuilder;
@@ -40,6 +47,12 @@ public class UsuarioControllerTest {
 	@Autowired
 	private UsuarioRepository usuarioRepository;
 	
+	@Autowired
+	private UserDetailsServiceImpl userDetailsService;
+	
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+	
 	private static final String BASE_URL = "/usuarios";
 	private static final String USUARIO = "root@root.com";
 	private static final String SENHA = "rootroot";
@@ -181,5 +194,127 @@ public class UsuarioControllerTest {
 	    // O corpo geralmente contém o token JWT, podemos verificar se contém "token" ou algo similar
 	    // dependendo de como o endpoint retorna
 	    assert(resposta.getBody().contains("token") || resposta.getBody().contains("Token"));
-	}	
-}
\ No newline at end of file
+	}
+	
+	@Test
+	@DisplayName("07 - Deve Atualizar parcialmente o usuário sem alterar a senha")
+	void deveAtualizarParcialmenteUsuario() {
+		// Given
+		Usuario usuario = usuarioService.cadastrarUsuario(TestBuilder.criarUsuario(null, "Paula", 
+				"paula@email.com.br", "12345678")).get();
+		
+		// O cliente devolve o hash recebido junto com o novo nome: a senha deve continuar igual
+		UsuarioAtualizacao atualizacao = new UsuarioAtualizacao(usuario.getId(), "Paula Souza", 
+				null, usuario.getSenha(), null);
+		
+		// When
+		String token = JwtHelper.obterToken(testRestTemplate, USUARIO, SENHA);
+		HttpEntity<UsuarioAtualizacao> requisicao = JwtHelper.criarRequisicaoComToken(atualizacao, token);
+		ResponseEntity<Void> resposta = testRestTemplate.exchange(
+				BASE_URL + "/atualizar", HttpMethod.PATCH, requisicao, Void.class);
+		
+		// Then
+		assertEquals(HttpStatus.NO_CONTENT, resposta.getStatusCode());
+		Usuario atualizado = usuarioRepository.findById(usuario.getId()).get();
+		assertEquals("Paula Souza", atualizado.getNome());
+		assertEquals("paula@email.com.br", atualizado.getUsuario());
+		assertEquals(usuario.getSenha(), atualizado.getSenha());
+	}
+	
+	@Test
+	@DisplayName("08 - Deve recusar o token do login antigo depois da alteração do login")
+	void deveRemoverDoCacheAoAlterarLogin() {
+		// Given
+		Usuario usuario = usuarioService.cadastrarUsuario(TestBuilder.criarUsuario(null, "Marcos", 
+				"marcos@email.com.br", "12345678")).get();
+		
+		// A primeira requisição autenticada guarda o usuário no cache de autenticação
+		String tokenAntigo = JwtHelper.obterToken(testRestTemplate, "marcos@email.com.br", "12345678");
+		ResponseEntity<Usuario[]> antes = testRestTemplate.exchange(BASE_URL + "/all", HttpMethod.GET, 
+				JwtHelper.criarRequisicaoComToken(tokenAntigo), Usuario[].class);
+		assertEquals(HttpStatus.OK, antes.getStatusCode());
+		
+		// When
+		Usuario usuarioUpdate = TestBuilder.criarUsuario(usuario.getId(), "Marcos", 
+				"marcos.novo@email.com.br", usuario.getSenha());
+		String token = JwtHelper.obterToken(testRestTemplate, USUARIO, SENHA);
+		ResponseEntity<Usuario> resposta = testRestTemplate.exchange(BASE_URL + "/atualizar", HttpMethod.PUT, 
+				JwtHelper.criarRequisicaoComToken(usuarioUpdate, token), Usuario.class);
+		
+		// Then
+		assertEquals(HttpStatus.OK, resposta.getStatusCode());
+		
+		// O login antigo não existe mais: o cache não pode continuar autenticando o token antigo
+		ResponseEntity<Usuario[]> depois = testRestTemplate.exchange(BASE_URL + "/all", HttpMethod.GET, 
+				JwtHelper.criarRequisicaoComToken(tokenAntigo), Usuario[].class);
+		assertEquals(HttpStatus.UNAUTHORIZED, depois.getStatusCode());
+		assertThrows(UsernameNotFoundException.class, 
+				() -> userDetailsService.carregarUsuarioAutenticado("marcos@email.com.br"));
+		assertEquals("marcos.novo@email.com.br", 
+				userDetailsService.carregarUsuarioAutenticado("marcos.novo@email.com.br").getUsername());
+	}
+	
+	@Test
+	@DisplayName("09 - Deve atualizar o usuário em cache depois da alteração da senha")
+	void deveRemoverDoCacheAoAlterarSenha() {
+		// Given
+		Usuario usuario = usuarioService.cadastrarUsuario(TestBuilder.criarUsuario(null, "Lucia", 
+				"lucia@email.com.br", "12345678")).get();
+		
+		// Guarda o usuário (com a senha atual) no cache de autenticação
+		String senhaAntiga = userDetailsService.carregarUsuarioAutenticado("lucia@email.com.br").getPassword();
+		assertTrue(passwordEncoder.matches("12345678", senhaAntiga));
+		
+		// When: PATCH apenas com a nova senha
+		UsuarioAtualizacao atualizacao = new UsuarioAtualizacao(usuario.getId(), null, null, "novaSenha123", null);
+		String token = JwtHelper.obterToken(testRestTemplate, USUARIO, SENHA);
+		ResponseEntity<Void> resposta = testRestTemplate.exchange(BASE_URL + "/atualizar", HttpMethod.PATCH, 
+				JwtHelper.criarRequisicaoComToken(atualizacao, token), Void.class);
+		
+		// Then
+		assertEquals(HttpStatus.NO_CONTENT, resposta.getStatusCode());
+		String senhaEmCache = userDetailsService.carregarUsuarioAutenticado("lucia@email.com.br").getPassword();
+		assertTrue(passwordEncoder.matches("novaSenha123", senhaEmCache));
+	}
+	
+	@Test
+	@DisplayName("10 - Deve codificar a nova senha mesmo com formato de hash BCrypt")
+	void deveAlterarSenhaComFormatoDeHash() {
+		// Given
+		Usuario usuario = usuarioService.cadastrarUsuario(TestBuilder.criarUsuario(null, "Rafael", 
+				"rafael@email.com.br", "12345678")).get();
+		
+		// Um hash válido, mas diferente do salvo: é uma nova senha, não a devolução do hash atual
+		String novaSenha = passwordEncoder.encode("outraSenha");
+		UsuarioAtualizacao atualizacao = new UsuarioAtualizacao(usuario.getId(), null, null, novaSenha, null);
+		
+		// When
+		String token = JwtHelper.obterToken(testRestTemplate, USUARIO, SENHA);
+		ResponseEntity<Void> resposta = testRestTemplate.exchange(BASE_URL + "/atualizar", HttpMethod.PATCH, 
+				JwtHelper.criarRequisicaoComToken(atualizacao, token), Void.class);
+		
+		// Then
+		assertEquals(HttpStatus.NO_CONTENT, resposta.getStatusCode());
+		String senhaSalva = usuarioRepository.findById(usuario.getId()).get().getSenha();
+		assertTrue(passwordEncoder.matches(novaSenha, senhaSalva));
+		assertFalse(passwordEncoder.matches("12345678", senhaSalva));
+	}
+	
+	@Test
+	@DisplayName("11 - Não Deve Atualizar parcialmente com login vazio")
+	void naoDeveAtualizarParcialmenteComLoginVazio() {
+		// Given
+		Usuario usuario = usuarioService.cadastrarUsuario(TestBuilder.criarUsuario(null, "Sofia", 
+				"sofia@email.com.br", "12345678")).get();
+		UsuarioAtualizacao atualizacao = new UsuarioAtualizacao(usuario.getId(), null, "", null, null);
+		
+		// When
+		String token = JwtHelper.obterToken(testRestTemplate, USUARIO, SENHA);
+		ResponseEntity<Void> resposta = testRestTemplate.exchange(BASE_URL + "/atualizar", HttpMethod.PATCH, 
+				JwtHelper.criarRequisicaoComToken(atualizacao, token), Void.class);
+		
+		// Then
+		assertEquals(HttpStatus.BAD_REQUEST, resposta.getStatusCode());
+		assertEquals("sofia@email.com.br", usuarioRepository.findById(usuario.getId()).get().getUsuario());
+	}
+}
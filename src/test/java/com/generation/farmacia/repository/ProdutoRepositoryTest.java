@@ -0,0 +1,160 @@
+package com.generation.farmacia.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.FiltroProdutos;
+import com.generation.farmacia.model.Pagina;
+import com.generation.farmacia.model.ProdutoResumo;
+import com.generation.farmacia.service.ProdutoService;
+import com.generation.farmacia.util.SqlCapturado;
+import com.generation.farmacia.util.TestBuilder;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.DisplayName.class)
+public class ProdutoRepositoryTest {
+
+	@Autowired
+	private ProdutoRepository produtoRepository;
+	
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	@Autowired
+	private ProdutoService produtoService;
+	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	
+	private Categoria primeiraCategoria;
+	
+	private Statistics estatisticas;
+	
+	@BeforeAll
+	void inicio() {
+		produtoRepository.deleteAll();
+		categoriaRepository.deleteAll();
+		
+		// Produtos espalhados em várias categorias: com o relacionamento EAGER cada categoria
+		// distinta geraria um SELECT extra na listagem
+		for (int i = 1; i <= 5; i++) {
+			Categoria categoria = categoriaRepository.save(TestBuilder.criarCategoria(null, "Categoria " + i));
+			produtoRepository.save(TestBuilder.criarProduto(null, "Produto " + i, "Descrição " + i, 10.0 * i, categoria));
+			if (primeiraCategoria == null) {
+				primeiraCategoria = categoria;
+			}
+		}
+		// Mais produtos na primeira categoria, com preços variados, para o filtro por faixa de preço
+		for (int i = 1; i <= 20; i++) {
+			produtoRepository.save(TestBuilder.criarProduto(null, "Dipirona " + i, "Analgésico " + i, 1.0 * i, primeiraCategoria));
+		}
+		
+		estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+	
+	@BeforeEach
+	void zerarEstatisticas() {
+		estatisticas.clear();
+	}
+	
+	@Test
+	@DisplayName("01 - Deve listar todos os produtos com a categoria em uma única consulta")
+	void deveListarEmUmaConsulta() {
+		List<ProdutoResumo> produtos = produtoRepository.findAllResumos();
+		
+		assertEquals(25, produtos.size());
+		assertNotNull(produtos.get(0).categoria());
+		assertEquals("Categoria 1", produtos.get(0).categoria().descricao());
+		assertEquals(1, estatisticas.getPrepareStatementCount());
+	}
+	
+	@Test
+	@DisplayName("02 - Deve listar uma página de produtos em uma única consulta")
+	void deveListarPaginaEmUmaConsulta() {
+		List<ProdutoResumo> produtos = produtoRepository.findPrimeiraPaginaPorPreco(PageRequest.of(0, 3));
+		
+		assertEquals(3, produtos.size());
+		assertEquals(1, estatisticas.getPrepareStatementCount());
+	}
+	
+	@Test
+	@DisplayName("03 - Deve buscar produtos por ID em uma única consulta")
+	void deveBuscarPorIdsEmUmaConsulta() {
+		List<Long> ids = produtoRepository.findAllResumos().stream().map(ProdutoResumo::id).toList();
+		estatisticas.clear();
+		
+		List<ProdutoResumo> produtos = produtoRepository.findResumosByIdIn(ids);
+		
+		assertEquals(ids.size(), produtos.size());
+		assertEquals(1, estatisticas.getPrepareStatementCount());
+	}
+	
+	@Test
+	@DisplayName("04 - Deve filtrar por categoria, faixa de preço e nome em uma única consulta")
+	void deveFiltrarEmUmaConsulta() {
+		FiltroProdutos filtro = new FiltroProdutos(List.of(primeiraCategoria.getId()),
+				new BigDecimal("5"), new BigDecimal("12"), "dip");
+		
+		Pagina<ProdutoResumo> pagina = produtoService.filtrar(filtro, null, 5, ProdutoService.ORDEM_PRECO);
+		
+		assertEquals(5, pagina.conteudo().size());
+		assertEquals(5.0, pagina.conteudo().get(0).preco().doubleValue());
+		assertEquals("Categoria 1", pagina.conteudo().get(0).categoria().descricao());
+		assertNotNull(pagina.proximoCursor());
+		assertEquals(1, estatisticas.getPrepareStatementCount());
+		
+		// A página seguinte continua do cursor: 10, 11 e 12 (o 10.0 da "Categoria 1" não começa com "dip")
+		Pagina<ProdutoResumo> seguinte = produtoService.filtrar(filtro, pagina.proximoCursor(), 5, ProdutoService.ORDEM_PRECO);
+		
+		assertEquals(List.of(10.0, 11.0, 12.0), seguinte.conteudo().stream().map(produto -> produto.preco().doubleValue()).toList());
+	}
+	
+	@Test
+	@DisplayName("05 - Deve usar o índice (categoria_id, preco) no filtro por categoria e faixa de preço")
+	void deveUsarIndiceCategoriaPreco() {
+		FiltroProdutos filtro = new FiltroProdutos(List.of(primeiraCategoria.getId()),
+				new BigDecimal("5"), new BigDecimal("12"), null);
+		
+		// Captura o SELECT gerado pelo Hibernate para o filtro e pede ao banco o plano desse mesmo comando
+		SqlCapturado.iniciar();
+		Pagina<ProdutoResumo> pagina = produtoService.filtrar(filtro, null, 4, ProdutoService.ORDEM_PRECO);
+		List<String> comandos = SqlCapturado.parar();
+		
+		assertEquals(4, pagina.conteudo().size());
+		assertEquals(1, comandos.size(), comandos.toString());
+		
+		// Parâmetros na ordem do SQL gerado: categoria, preço mínimo, preço máximo e limite (página + 1)
+		String sql = comandos.get(0);
+		Object[] parametros = { primeiraCategoria.getId(), new BigDecimal("5"), new BigDecimal("12"), 5 };
+		assertEquals(parametros.length, sql.chars().filter(caractere -> caractere == '?').count(), sql);
+		
+		String plano = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parametros);
+		
+		assertTrue(plano.toLowerCase().contains("idx_produtos_categoria_preco"), plano);
+	}
+}
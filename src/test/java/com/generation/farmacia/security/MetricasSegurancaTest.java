@@ -0,0 +1,90 @@
+package com.generation.farmacia.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.generation.farmacia.repository.UsuarioRepository;
+import com.generation.farmacia.service.UsuarioService;
+import com.generation.farmacia.util.JwtHelper;
+import com.generation.farmacia.util.TestBuilder;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.DisplayName.class)
+public class MetricasSegurancaTest {
+
+	@Autowired
+	private TestRestTemplate testRestTemplate;
+
+	@Autowired
+	private UsuarioService usuarioService;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	private static final String PROMETHEUS_URL = "/actuator/prometheus";
+	private static final String USUARIO = "metricas@email.com";
+	private static final String SENHA = "12345678";
+
+	@BeforeAll
+	void inicio() {
+		usuarioRepository.findByUsuario(USUARIO).ifPresent(usuarioRepository::delete);
+		usuarioService.cadastrarUsuario(TestBuilder.criarUsuario(null, "Métricas", USUARIO, SENHA));
+	}
+
+	@Test
+	@DisplayName("01 - Deve liberar a coleta do Prometheus com a credencial do coletor")
+	void deveLiberarColetaComCredencial() {
+		ResponseEntity<String> resposta = testRestTemplate.withBasicAuth("prometheus", "coletor-teste")
+				.getForEntity(PROMETHEUS_URL, String.class);
+
+		assertEquals(HttpStatus.OK, resposta.getStatusCode());
+		assertTrue(resposta.getBody().contains("jvm_memory_used_bytes"));
+
+		// Pool de senhas: histograma do hash e da espera e a profundidade da fila
+		assertTrue(resposta.getBody().contains("senhas_hash_seconds_bucket"));
+		assertTrue(resposta.getBody().contains("senhas_espera_seconds_bucket"));
+		assertTrue(resposta.getBody().contains("senhas_fila "));
+	}
+
+	@Test
+	@DisplayName("02 - Deve recusar a coleta sem credencial ou com senha errada")
+	void deveRecusarColetaSemCredencial() {
+		assertEquals(HttpStatus.UNAUTHORIZED, testRestTemplate.getForEntity(PROMETHEUS_URL, String.class).getStatusCode());
+		assertEquals(HttpStatus.UNAUTHORIZED, testRestTemplate.withBasicAuth("prometheus", "errada")
+				.getForEntity(PROMETHEUS_URL, String.class).getStatusCode());
+	}
+
+	@Test
+	@DisplayName("03 - Não deve liberar a coleta para usuários da API")
+	void naoDeveLiberarColetaParaUsuarios() {
+		String token = JwtHelper.obterToken(testRestTemplate, USUARIO, SENHA);
+
+		ResponseEntity<String> comToken = testRestTemplate.exchange(PROMETHEUS_URL, HttpMethod.GET,
+				JwtHelper.criarRequisicaoComToken(token), String.class);
+		ResponseEntity<String> comSenha = testRestTemplate.withBasicAuth(USUARIO, SENHA)
+				.getForEntity(PROMETHEUS_URL, String.class);
+
+		assertNotEquals(HttpStatus.OK, comToken.getStatusCode());
+		assertEquals(HttpStatus.UNAUTHORIZED, comSenha.getStatusCode());
+
+		// As demais métricas continuam disponíveis com o token da API
+		ResponseEntity<String> metricas = testRestTemplate.exchange("/actuator/metrics", HttpMethod.GET,
+				JwtHelper.criarRequisicaoComToken(token), String.class);
+		assertEquals(HttpStatus.OK, metricas.getStatusCode());
+	}
+}
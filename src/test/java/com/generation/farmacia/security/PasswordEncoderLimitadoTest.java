@@ -0,0 +1,120 @@
+package com.generation.farmacia.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@TestMethodOrder(MethodOrderer.DisplayName.class)
+public class PasswordEncoderLimitadoTest {
+
+	@Test
+	@DisplayName("01 - Deve codificar e verificar senhas pelo pool")
+	void deveCodificarPeloPool() {
+		PasswordEncoderLimitado passwordEncoder = new PasswordEncoderLimitado(new PasswordEncoderLento(null), 1, 1, 1,
+				new SimpleMeterRegistry());
+		
+		assertEquals("{lento}rootroot", passwordEncoder.encode("rootroot"));
+		assertTrue(passwordEncoder.matches("rootroot", "{lento}rootroot"));
+		assertEquals(2, passwordEncoder.getEstatisticas().concluidas());
+		
+		passwordEncoder.destroy();
+	}
+	
+	@Test
+	@DisplayName("02 - Deve responder 429 com Retry-After quando a fila estiver cheia")
+	void deveRecusarComFilaCheia() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		PasswordEncoderLimitado passwordEncoder = new PasswordEncoderLimitado(new PasswordEncoderLento(liberar), 1, 1, 3,
+				new SimpleMeterRegistry());
+		
+		// Uma senha em processamento e uma na fila ocupam todo o limite
+		CompletableFuture<String> emProcessamento = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("a"));
+		CompletableFuture<String> naFila = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("b"));
+		
+		while (passwordEncoder.getEstatisticas().fila() < 1) {
+			Thread.sleep(5);
+		}
+		
+		LimiteSenhasException erro = assertThrows(LimiteSenhasException.class, () -> passwordEncoder.encode("c"));
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, erro.getStatusCode());
+		assertEquals("3", erro.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals(1, passwordEncoder.getEstatisticas().rejeitadas());
+		
+		liberar.countDown();
+		assertEquals("{lento}a", emProcessamento.get(5, TimeUnit.SECONDS));
+		assertEquals("{lento}b", naFila.get(5, TimeUnit.SECONDS));
+		
+		passwordEncoder.destroy();
+	}
+	
+	@Test
+	@DisplayName("03 - Deve registrar hash, espera, fila e rejeições no MeterRegistry")
+	void deveRegistrarMetricas() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		PasswordEncoderLimitado passwordEncoder = new PasswordEncoderLimitado(new PasswordEncoderLento(liberar), 1, 1, 1,
+				meterRegistry);
+		
+		CompletableFuture<String> emProcessamento = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("a"));
+		CompletableFuture<String> naFila = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("b"));
+		
+		while (passwordEncoder.getEstatisticas().fila() < 1) {
+			Thread.sleep(5);
+		}
+		
+		// Gauge da fila lido no momento da coleta
+		assertEquals(1.0, meterRegistry.get("senhas.fila").gauge().value());
+		assertThrows(LimiteSenhasException.class, () -> passwordEncoder.encode("c"));
+		
+		liberar.countDown();
+		emProcessamento.get(5, TimeUnit.SECONDS);
+		naFila.get(5, TimeUnit.SECONDS);
+		
+		assertEquals(2, meterRegistry.get("senhas.hash").timer().count());
+		assertEquals(2, meterRegistry.get("senhas.espera").timer().count());
+		assertEquals(1.0, meterRegistry.get("senhas.rejeitadas").counter().count());
+		assertEquals(0.0, meterRegistry.get("senhas.fila").gauge().value());
+		
+		// As estatísticas do monitoramento são lidas dos mesmos medidores
+		assertEquals(2, passwordEncoder.getEstatisticas().concluidas());
+		assertTrue(passwordEncoder.getEstatisticas().esperaMediaMs() > 0);
+		
+		passwordEncoder.destroy();
+	}
+	
+	// PasswordEncoder de teste que só termina quando o latch é liberado (simula um BCrypt demorado)
+	private record PasswordEncoderLento(CountDownLatch liberar) implements PasswordEncoder {
+		
+		@Override
+		public String encode(CharSequence senha) {
+			if (liberar != null) {
+				try {
+					liberar.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return "{lento}" + senha;
+		}
+		
+		@Override
+		public boolean matches(CharSequence senha, String senhaCodificada) {
+			return encode(senha).equals(senhaCodificada);
+		}
+	}
+}
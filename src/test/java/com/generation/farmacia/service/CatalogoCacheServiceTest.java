@@ -0,0 +1,240 @@
+package com.generation.farmacia.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.generation.farmacia.configuration.CacheConfig;
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.EstatisticasCache;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.repository.UsuarioRepository;
+import com.generation.farmacia.util.JwtHelper;
+import com.generation.farmacia.util.TestBuilder;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.DisplayName.class)
+public class CatalogoCacheServiceTest {
+
+	@Autowired
+	private TestRestTemplate testRestTemplate;
+
+	@Autowired
+	private ProdutoService produtoService;
+
+	@Autowired
+	private CategoriaService categoriaService;
+
+	@Autowired
+	private CatalogoCacheService catalogoCacheService;
+
+	@Autowired
+	private UsuarioService usuarioService;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private ProdutoRepository produtoRepository;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private static final String USUARIO = "cache@email.com";
+	private static final String SENHA = "12345678";
+
+	private String token;
+	private Categoria medicamentos;
+	private Categoria vitaminas;
+	private Categoria higiene;
+	private Produto produto;
+
+	private Statistics estatisticas;
+
+	@BeforeAll
+	void inicio() {
+		usuarioRepository.findByUsuario(USUARIO).ifPresent(usuarioRepository::delete);
+		usuarioService.cadastrarUsuario(TestBuilder.criarUsuario(null, "Cache", USUARIO, SENHA));
+		token = JwtHelper.obterToken(testRestTemplate, USUARIO, SENHA);
+
+		medicamentos = categoriaRepository.save(TestBuilder.criarCategoria(null, "Medicamentos"));
+		vitaminas = categoriaRepository.save(TestBuilder.criarCategoria(null, "Vitaminas"));
+		higiene = categoriaRepository.save(TestBuilder.criarCategoria(null, "Higiene"));
+		produto = produtoRepository.save(TestBuilder.criarProduto(null, "Vitamina C", "Vitamina C 1g", 25.0, medicamentos));
+
+		estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@BeforeEach
+	void limparCaches() {
+		catalogoCacheService.catalogoAlterado();
+		estatisticas.clear();
+	}
+
+	@Test
+	@DisplayName("01 - Deve servir produto, categoria e páginas do cache sem consultar o banco")
+	void deveServirDoCacheSemConsulta() {
+		// Primeira leitura: vai ao banco e guarda no cache
+		produtoService.buscarPorId(produto.getId());
+		categoriaService.buscarPorId(medicamentos.getId());
+		produtoService.listarPagina(null, 20, ProdutoService.ORDEM_ID);
+		categoriaService.listarPagina(null, 20);
+		assertTrue(estatisticas.getPrepareStatementCount() > 0);
+		estatisticas.clear();
+
+		// Segunda leitura: atendida pelo cache
+		assertEquals("Vitamina C", produtoService.buscarPorId(produto.getId()).get().getNome());
+		assertEquals("Medicamentos", categoriaService.buscarPorId(medicamentos.getId()).get().getDescricao());
+		produtoService.listarPagina(null, 20, ProdutoService.ORDEM_ID);
+		categoriaService.listarPagina(null, 20);
+		assertEquals(0, estatisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	@DisplayName("02 - Deve remover o produto, a categoria antiga, a nova e as páginas ao mover o produto")
+	void deveRemoverDoCacheAoMoverProduto() {
+		// Given
+		Produto alterado = testRestTemplate.exchange("/produtos/" + produto.getId(), HttpMethod.GET,
+				JwtHelper.criarRequisicaoComToken(token), Produto.class).getBody();
+		alterado.setCategoria(TestBuilder.criarCategoria(vitaminas.getId(), "Vitaminas"));
+		carregarCaches();
+
+		// When
+		ResponseEntity<Produto> resposta = testRestTemplate.exchange("/produtos", HttpMethod.PUT,
+				JwtHelper.criarRequisicaoComToken(alterado, token), Produto.class);
+
+		// Then
+		assertEquals(HttpStatus.OK, resposta.getStatusCode());
+		assertNull(cacheManager.getCache(CacheConfig.PRODUTOS).get(produto.getId()));
+		assertNull(cacheManager.getCache(CacheConfig.CATEGORIAS).get(medicamentos.getId()));
+		assertNull(cacheManager.getCache(CacheConfig.CATEGORIAS).get(vitaminas.getId()));
+		assertNotNull(cacheManager.getCache(CacheConfig.CATEGORIAS).get(higiene.getId())); // Não foi afetada
+		assertEquals(0, tamanho(CacheConfig.PRODUTOS_PAGINAS));
+		assertEquals(0, tamanho(CacheConfig.CATEGORIAS_PAGINAS));
+
+		// A próxima leitura vai ao banco e já traz o produto na nova categoria
+		assertEquals(vitaminas.getId(), produtoService.buscarPorId(produto.getId()).get().getCategoria().getId());
+		assertEquals(1, categoriaService.buscarPorId(vitaminas.getId()).get().getProdutos().size());
+	}
+
+	@Test
+	@DisplayName("03 - Deve remover a categoria e os produtos que a embutem ao alterar a categoria")
+	void deveRemoverDoCacheAoAlterarCategoria() {
+		// Given
+		carregarCaches();
+
+		// When
+		ResponseEntity<Categoria> resposta = testRestTemplate.exchange("/categorias", HttpMethod.PUT,
+				JwtHelper.criarRequisicaoComToken(TestBuilder.criarCategoria(higiene.getId(), "Higiene pessoal"), token),
+				Categoria.class);
+
+		// Then
+		assertEquals(HttpStatus.OK, resposta.getStatusCode());
+		assertNull(cacheManager.getCache(CacheConfig.CATEGORIAS).get(higiene.getId()));
+		assertNotNull(cacheManager.getCache(CacheConfig.CATEGORIAS).get(medicamentos.getId()));
+		assertEquals(0, tamanho(CacheConfig.PRODUTOS));
+		assertEquals(0, tamanho(CacheConfig.PRODUTOS_PAGINAS));
+		assertEquals(0, tamanho(CacheConfig.CATEGORIAS_PAGINAS));
+	}
+
+	@Test
+	@DisplayName("04 - Deve remover o produto e a sua categoria ao excluir o produto")
+	void deveRemoverDoCacheAoExcluirProduto() {
+		// Given
+		Produto excluido = produtoRepository.save(TestBuilder.criarProduto(null, "Dipirona", "Analgésico", 12.5, higiene));
+		carregarCaches();
+		produtoService.buscarPorId(excluido.getId());
+
+		// When
+		ResponseEntity<Void> resposta = testRestTemplate.exchange("/produtos/" + excluido.getId(), HttpMethod.DELETE,
+				JwtHelper.criarRequisicaoComToken(token), Void.class);
+
+		// Then
+		assertEquals(HttpStatus.NO_CONTENT, resposta.getStatusCode());
+		assertNull(cacheManager.getCache(CacheConfig.PRODUTOS).get(excluido.getId()));
+		assertNull(cacheManager.getCache(CacheConfig.CATEGORIAS).get(higiene.getId()));
+		assertNotNull(cacheManager.getCache(CacheConfig.PRODUTOS).get(produto.getId())); // Não foi afetado
+		assertEquals(0, tamanho(CacheConfig.PRODUTOS_PAGINAS));
+		assertEquals(0, tamanho(CacheConfig.CATEGORIAS_PAGINAS));
+		assertFalse(produtoService.buscarPorId(excluido.getId()).isPresent());
+	}
+
+	@Test
+	@DisplayName("05 - Deve contar acertos, faltas e remoções no monitoramento do cache")
+	void deveContarAcertosEFaltas() {
+		// Given
+		EstatisticasCache antes = estatisticasProdutos();
+
+		// When: uma falta, dois acertos e, depois da alteração do produto, uma nova falta
+		produtoService.buscarPorId(produto.getId());
+		produtoService.buscarPorId(produto.getId());
+		produtoService.buscarPorId(produto.getId());
+		catalogoCacheService.produtoAlterado(produto.getId());
+		produtoService.buscarPorId(produto.getId());
+		EstatisticasCache depois = estatisticasProdutos();
+
+		// Then
+		assertEquals(antes.acertos() + 2, depois.acertos());
+		assertEquals(antes.faltas() + 2, depois.faltas());
+		assertEquals(1, depois.tamanho());
+
+		// Remoções contam apenas descartes por tamanho máximo ou expiração, não as invalidações das escritas
+		assertEquals(antes.remocoes(), depois.remocoes());
+	}
+
+	// Guarda no cache o produto, as três categorias e a primeira página de cada listagem
+	private void carregarCaches() {
+		produtoService.buscarPorId(produto.getId());
+		categoriaService.buscarPorId(medicamentos.getId());
+		categoriaService.buscarPorId(vitaminas.getId());
+		categoriaService.buscarPorId(higiene.getId());
+		produtoService.listarPagina(null, 20, ProdutoService.ORDEM_ID);
+		categoriaService.listarPagina(null, 20);
+	}
+
+	private long tamanho(String cache) {
+		return ((CaffeineCache) cacheManager.getCache(cache)).getNativeCache().estimatedSize();
+	}
+
+	private EstatisticasCache estatisticasProdutos() {
+		ResponseEntity<Map<String, EstatisticasCache>> resposta = testRestTemplate.exchange("/monitoramento/cache",
+				HttpMethod.GET, JwtHelper.criarRequisicaoComToken(token),
+				new ParameterizedTypeReference<Map<String, EstatisticasCache>>() {});
+		assertEquals(HttpStatus.OK, resposta.getStatusCode());
+		return resposta.getBody().get(CacheConfig.PRODUTOS);
+	}
+}
@@ -0,0 +1,117 @@
+package com.generation.farmacia.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.CategoriaResumo;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.ProdutoResumo;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.util.TestBuilder;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.DisplayName.class)
+public class CategoriaServiceTest {
+
+	@Autowired
+	private CategoriaService categoriaService;
+
+	@Autowired
+	private ProdutoRepository produtoRepository;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private CatalogoCacheService catalogoCacheService;
+
+	private Categoria medicamentos;
+	private Categoria vitaminas;
+	private Categoria higiene;
+	private List<Produto> produtosMedicamentos = new ArrayList<>();
+	private Produto vitaminaC;
+
+	@BeforeAll
+	void inicio() {
+		produtoRepository.deleteAll();
+		categoriaRepository.deleteAll();
+		catalogoCacheService.catalogoAlterado();
+
+		medicamentos = categoriaRepository.save(TestBuilder.criarCategoria(null, "Medicamentos"));
+		vitaminas = categoriaRepository.save(TestBuilder.criarCategoria(null, "Vitaminas"));
+		higiene = categoriaRepository.save(TestBuilder.criarCategoria(null, "Higiene")); // Sem produtos
+
+		// Produtos das duas categorias intercalados: os exemplos são os menores IDs de cada categoria
+		for (int i = 1; i <= 5; i++) {
+			produtosMedicamentos.add(produtoRepository.save(TestBuilder.criarProduto(null, "Medicamento " + i,
+					"Descrição " + i, 10.0 * i, medicamentos)));
+			if (i == 2) {
+				vitaminaC = produtoRepository.save(TestBuilder.criarProduto(null, "Vitamina C", "Vitamina C 1g",
+						25.0, vitaminas));
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("01 - Deve resumir todas as categorias, inclusive as vazias, sem produtos de exemplo")
+	void deveResumirCategorias() {
+		List<CategoriaResumo> resumos = categoriaService.listarResumos(0);
+
+		assertEquals(List.of(medicamentos.getId(), vitaminas.getId(), higiene.getId()),
+				resumos.stream().map(CategoriaResumo::id).toList());
+
+		assertEquals(new CategoriaResumo(medicamentos.getId(), "Medicamentos", 5L,
+				new BigDecimal("10.00"), new BigDecimal("50.00")), resumos.get(0));
+		assertEquals(new CategoriaResumo(vitaminas.getId(), "Vitaminas", 1L,
+				new BigDecimal("25.00"), new BigDecimal("25.00")), resumos.get(1));
+		assertEquals(new CategoriaResumo(higiene.getId(), "Higiene", 0L, null, null), resumos.get(2));
+
+		// Quantidade negativa é tratada como nenhum exemplo
+		assertNull(categoriaService.listarResumos(-1).get(0).produtos());
+	}
+
+	@Test
+	@DisplayName("02 - Deve incluir os primeiros produtos de cada categoria, limitados à quantidade pedida")
+	void deveIncluirProdutosDeExemplo() {
+		List<CategoriaResumo> resumos = categoriaService.listarResumos(3);
+
+		assertEquals(produtosMedicamentos.subList(0, 3).stream().map(Produto::getId).toList(),
+				resumos.get(0).produtos().stream().map(ProdutoResumo::id).toList());
+		assertEquals(List.of(vitaminaC.getId()), resumos.get(1).produtos().stream().map(ProdutoResumo::id).toList());
+		assertEquals(List.of(), resumos.get(2).produtos());
+
+		// O total e a faixa de preço continuam considerando todos os produtos
+		assertEquals(5L, resumos.get(0).totalProdutos());
+
+		ProdutoResumo primeiro = resumos.get(0).produtos().get(0);
+		assertEquals("Medicamento 1", primeiro.nome());
+		assertEquals(0, new BigDecimal("10.00").compareTo(primeiro.preco()));
+		assertEquals(new ProdutoResumo.CategoriaProduto(medicamentos.getId(), "Medicamentos"), primeiro.categoria());
+	}
+
+	@Test
+	@DisplayName("03 - Deve incluir todos os produtos quando a categoria tem menos que o pedido")
+	void deveIncluirTodosOsProdutos() {
+		List<CategoriaResumo> resumos = categoriaService.listarResumos(10);
+
+		assertEquals(produtosMedicamentos.stream().map(Produto::getId).toList(),
+				resumos.get(0).produtos().stream().map(ProdutoResumo::id).toList());
+		assertEquals(1, resumos.get(1).produtos().size());
+	}
+}
@@ -0,0 +1,178 @@
+package com.generation.farmacia.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.ReservaEstoque;
+import com.generation.farmacia.model.SaldoEstoque;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.util.TestBuilder;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.DisplayName.class)
+public class EstoqueServiceTest {
+
+	@Autowired
+	private EstoqueService estoqueService;
+
+	@Autowired
+	private ProdutoRepository produtoRepository;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Produto dipirona;
+
+	@BeforeAll
+	void inicio() {
+		produtoRepository.deleteAll();
+		categoriaRepository.deleteAll();
+
+		Categoria categoria = categoriaRepository.save(TestBuilder.criarCategoria(null, "Medicamentos"));
+
+		dipirona = produtoRepository.save(TestBuilder.criarProduto(null, "Dipirona Sódica",
+				"Analgésico e antitérmico", 12.5, categoria));
+	}
+
+	@Test
+	@DisplayName("01 - Deve reservar apenas o disponível com 1.000 compras simultâneas")
+	void deveReservarApenasODisponivel() throws InterruptedException {
+		estoqueService.definirQuantidade(dipirona.getId(), 500);
+
+		Queue<ReservaEstoque> reservas = new ConcurrentLinkedQueue<>();
+		AtomicInteger recusadas = new AtomicInteger();
+		CountDownLatch largada = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(32);
+
+		for (int i = 0; i < 1000; i++) {
+			executor.submit(() -> {
+				largada.await();
+				try {
+					reservas.add(estoqueService.reservar(dipirona.getId(), 1));
+				} catch (ResponseStatusException e) {
+					recusadas.incrementAndGet();
+				}
+				return null;
+			});
+		}
+		largada.countDown();
+		executor.shutdown();
+		executor.awaitTermination(30, TimeUnit.SECONDS);
+
+		assertEquals(500, reservas.size());
+		assertEquals(500, recusadas.get());
+		assertEquals(new SaldoEstoque(dipirona.getId(), 500, 0, 500), estoqueService.saldo(dipirona.getId()));
+
+		// Confirma 300 reservas e libera as outras 200
+		List<ReservaEstoque> lista = List.copyOf(reservas);
+		lista.subList(0, 300).forEach(reserva -> estoqueService.confirmar(dipirona.getId(), reserva.id()));
+		lista.subList(300, 500).forEach(reserva -> estoqueService.liberar(dipirona.getId(), reserva.id()));
+
+		assertEquals(new SaldoEstoque(dipirona.getId(), 200, 200, 0), estoqueService.saldo(dipirona.getId()));
+
+		// Uma reserva já confirmada não é confirmada nem liberada de novo
+		assertThrows(ResponseStatusException.class, () -> estoqueService.confirmar(dipirona.getId(), lista.get(0).id()));
+		assertThrows(ResponseStatusException.class, () -> estoqueService.liberar(dipirona.getId(), lista.get(0).id()));
+		assertEquals(200, estoqueService.saldo(dipirona.getId()).quantidade());
+	}
+
+	@Test
+	@DisplayName("02 - Deve gravar de novo na execução seguinte o lote recusado pelo banco")
+	void deveRegravarLoteRecusado() {
+		estoqueService.definirQuantidade(dipirona.getId(), 120);
+		estoqueService.gravarPendentes();
+
+		long revisaoAnterior = revisaoGravada();
+		assertEquals(120, quantidadeGravada());
+
+		// O banco passa a recusar a quantidade 80: o lote falha e a alteração continua pendente
+		jdbcTemplate.execute("ALTER TABLE tb_estoques ADD CONSTRAINT chk_estoque_teste CHECK (quantidade <> 80)");
+		try {
+			estoqueService.definirQuantidade(dipirona.getId(), 80);
+			estoqueService.gravarPendentes();
+
+			assertEquals(120, quantidadeGravada());
+			assertEquals(revisaoAnterior, revisaoGravada());
+		} finally {
+			jdbcTemplate.execute("ALTER TABLE tb_estoques DROP CONSTRAINT chk_estoque_teste");
+		}
+
+		// A execução seguinte grava a quantidade com a revisão da alteração
+		estoqueService.gravarPendentes();
+
+		assertEquals(80, quantidadeGravada());
+		assertEquals(revisaoAnterior + 1, revisaoGravada());
+
+		// Sem novas alterações, uma nova execução não muda o banco
+		estoqueService.gravarPendentes();
+
+		assertEquals(80, quantidadeGravada());
+		assertEquals(revisaoAnterior + 1, revisaoGravada());
+	}
+
+	@Test
+	@DisplayName("03 - Não deve reduzir a quantidade abaixo da reservada")
+	void naoDeveReduzirAbaixoDaReservada() {
+		estoqueService.definirQuantidade(dipirona.getId(), 10);
+		ReservaEstoque reserva = estoqueService.reservar(dipirona.getId(), 8);
+
+		assertThrows(ResponseStatusException.class, () -> estoqueService.definirQuantidade(dipirona.getId(), 5));
+		assertThrows(ResponseStatusException.class, () -> estoqueService.reservar(dipirona.getId(), 3));
+
+		estoqueService.liberar(dipirona.getId(), reserva.id());
+
+		assertEquals(new SaldoEstoque(dipirona.getId(), 10, 10, 0), estoqueService.saldo(dipirona.getId()));
+	}
+
+	@Test
+	@DisplayName("04 - Deve responder 404 para o estoque de um produto excluído")
+	void deveRecusarProdutoExcluido() {
+		// O produto some entre a verificação do controller e a criação da linha de estoque
+		Produto excluido = produtoRepository.save(TestBuilder.criarProduto(null, "Paracetamol", "Antitérmico", 8.9,
+				dipirona.getCategoria()));
+		produtoRepository.delete(excluido);
+
+		ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+				() -> estoqueService.saldo(excluido.getId()));
+
+		assertEquals(HttpStatus.NOT_FOUND, erro.getStatusCode());
+	}
+
+	private int quantidadeGravada() {
+		return jdbcTemplate.queryForObject("SELECT quantidade FROM tb_estoques WHERE produto_id = ?",
+				Integer.class, dipirona.getId());
+	}
+
+	private long revisaoGravada() {
+		return jdbcTemplate.queryForObject("SELECT revisao FROM tb_estoques WHERE produto_id = ?",
+				Long.class, dipirona.getId());
+	}
+}
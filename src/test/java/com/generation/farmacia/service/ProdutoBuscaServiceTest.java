@@ -0,0 +1,100 @@
+package com.generation.farmacia.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.ProdutoResumo;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.util.TestBuilder;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.DisplayName.class)
+public class ProdutoBuscaServiceTest {
+
+	@Autowired
+	private ProdutoBuscaService produtoBuscaService;
+	
+	@Autowired
+	private ProdutoRepository produtoRepository;
+	
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+	
+	private Produto dipirona;
+	private Produto paracetamol;
+	
+	@BeforeAll
+	void inicio() {
+		produtoRepository.deleteAll();
+		categoriaRepository.deleteAll();
+		
+		Categoria categoria = categoriaRepository.save(TestBuilder.criarCategoria(null, "Medicamentos"));
+		
+		dipirona = produtoRepository.save(TestBuilder.criarProduto(null, "Dipirona Sódica",
+				"Analgésico e antitérmico", 12.5, categoria));
+		paracetamol = produtoRepository.save(TestBuilder.criarProduto(null, "Paracetamol",
+				"Analgésico para dores leves, alternativa à dipirona", 9.9, categoria));
+		produtoRepository.save(TestBuilder.criarProduto(null, "Protetor Solar",
+				"Proteção FPS 50", 59.9, categoria));
+		
+		// Reconstrói o índice a partir do banco H2
+		produtoBuscaService.reconstruir();
+	}
+	
+	@Test
+	@DisplayName("01 - Deve encontrar produtos por prefixo ignorando acentos")
+	void deveBuscarPorPrefixoSemAcento() {
+		List<ProdutoResumo> resultado = produtoBuscaService.buscar("analges", 0, 20);
+		
+		assertEquals(2, resultado.size());
+	}
+	
+	@Test
+	@DisplayName("02 - Deve ordenar termos do nome antes de termos da descrição")
+	void deveOrdenarPorRelevancia() {
+		List<ProdutoResumo> resultado = produtoBuscaService.buscar("dipirona", 0, 20);
+		
+		assertEquals(2, resultado.size());
+		assertEquals(dipirona.getId(), resultado.get(0).id());
+	}
+	
+	@Test
+	@DisplayName("03 - Deve paginar os resultados")
+	void devePaginarResultados() {
+		List<ProdutoResumo> primeira = produtoBuscaService.buscar("analgesico", 0, 1);
+		List<ProdutoResumo> segunda = produtoBuscaService.buscar("analgesico", 1, 1);
+		
+		assertEquals(1, primeira.size());
+		assertEquals(1, segunda.size());
+		assertTrue(!primeira.get(0).id().equals(segunda.get(0).id()));
+	}
+	
+	@Test
+	@DisplayName("04 - Deve refletir atualização e remoção no índice")
+	void deveAtualizarIndice() {
+		paracetamol.setNome("Paracetamol Infantil");
+		produtoBuscaService.indexar(produtoRepository.save(paracetamol));
+		
+		assertEquals(1, produtoBuscaService.buscar("infantil", 0, 20).size());
+		
+		produtoRepository.deleteById(paracetamol.getId());
+		produtoBuscaService.remover(paracetamol.getId());
+		
+		assertTrue(produtoBuscaService.buscar("infantil", 0, 20).isEmpty());
+	}
+}
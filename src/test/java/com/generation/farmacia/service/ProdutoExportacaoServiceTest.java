@@ -0,0 +1,113 @@
+package com.generation.farmacia.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.FormatoCatalogo;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.util.Csv;
+import com.generation.farmacia.util.TestBuilder;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.DisplayName.class)
+public class ProdutoExportacaoServiceTest {
+
+	@Autowired
+	private ProdutoExportacaoService produtoExportacaoService;
+
+	@Autowired
+	private ProdutoRepository produtoRepository;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private Categoria categoria;
+	private List<Produto> produtos = new ArrayList<>();
+
+	@BeforeAll
+	void inicio() {
+		produtoRepository.deleteAll();
+		categoriaRepository.deleteAll();
+
+		categoria = categoriaRepository.save(TestBuilder.criarCategoria(null, "Medicamentos"));
+
+		// Nome com vírgula e descrição com aspas e quebra de linha: precisam de aspas no CSV
+		produtos.add(produtoRepository.save(TestBuilder.criarProduto(null, "Dipirona, 500mg",
+				"Analgésico \"genérico\"\nCaixa com 10", 12.5, categoria)));
+		produtos.add(produtoRepository.save(TestBuilder.criarProduto(null, "Paracetamol", "Antitérmico", 8.9, categoria)));
+		produtos.add(produtoRepository.save(TestBuilder.criarProduto(null, "Vitamina C", "Suplemento", 20.0, categoria)));
+	}
+
+	@Test
+	@DisplayName("01 - Deve exportar um único array JSON com todos os produtos")
+	void deveExportarJson() throws IOException {
+		JsonNode array = objectMapper.readTree(exportar(FormatoCatalogo.JSON));
+
+		assertTrue(array.isArray());
+		assertEquals(produtos.size(), array.size());
+		for (int i = 0; i < produtos.size(); i++) {
+			assertEquals(produtos.get(i).getId(), array.get(i).get("id").asLong());
+			assertEquals(produtos.get(i).getNome(), array.get(i).get("nome").asText());
+		}
+	}
+
+	@Test
+	@DisplayName("02 - Deve exportar um objeto JSON por linha no NDJSON")
+	void deveExportarNdjson() throws IOException {
+		String[] linhas = exportar(FormatoCatalogo.NDJSON).split("\n");
+
+		assertEquals(produtos.size(), linhas.length);
+		for (int i = 0; i < produtos.size(); i++) {
+			JsonNode objeto = objectMapper.readTree(linhas[i]);
+			assertEquals(produtos.get(i).getId(), objeto.get("id").asLong());
+			assertEquals(produtos.get(i).getDescricao(), objeto.get("descricao").asText());
+		}
+	}
+
+	@Test
+	@DisplayName("03 - Deve exportar CSV com cabeçalho e campos escapados")
+	void deveExportarCsv() throws IOException {
+		String csv = exportar(FormatoCatalogo.CSV);
+
+		assertTrue(csv.startsWith("id,nome,descricao,preco,foto,categoria\n"));
+		assertTrue(csv.contains("\"Dipirona, 500mg\",\"Analgésico \"\"genérico\"\"\nCaixa com 10\","));
+
+		// Sem o cabeçalho, as linhas de Paracetamol e Vitamina C (a descrição da Dipirona ocupa duas linhas)
+		String[] linhas = csv.split("\n");
+		assertEquals(produtos.size() + 2, linhas.length);
+
+		List<String> campos = Csv.lerLinha(linhas[3]);
+		assertEquals(List.of(String.valueOf(produtos.get(1).getId()), "Paracetamol", "Antitérmico", "8.90", "-",
+				String.valueOf(categoria.getId())), campos);
+	}
+
+	private String exportar(FormatoCatalogo formato) throws IOException {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		produtoExportacaoService.exportar(formato, saida);
+		return saida.toString(StandardCharsets.UTF_8);
+	}
+}
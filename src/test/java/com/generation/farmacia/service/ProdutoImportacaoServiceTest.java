@@ -0,0 +1,151 @@
+package com.generation.farmacia.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.FormatoCatalogo;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.ResultadoImportacao;
+import com.generation.farmacia.model.ResultadoImportacao.ErroImportacao;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.util.TestBuilder;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.DisplayName.class)
+public class ProdutoImportacaoServiceTest {
+
+	@Autowired
+	private ProdutoImportacaoService produtoImportacaoService;
+
+	@Autowired
+	private ProdutoRepository produtoRepository;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	private Categoria categoria;
+
+	@BeforeAll
+	void inicio() {
+		produtoRepository.deleteAll();
+		categoriaRepository.deleteAll();
+		categoria = categoriaRepository.save(TestBuilder.criarCategoria(null, "Medicamentos"));
+	}
+
+	@BeforeEach
+	void limpar() {
+		produtoRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("01 - Deve importar NDJSON e informar as linhas rejeitadas")
+	void deveImportarNdjson() throws IOException {
+		String arquivo = """
+				{"nome":"Dipirona","descricao":"Analgésico","preco":12.5,"foto":"-","categoria":{"id":%1$d}}
+
+				{"nome":"Paracetamol","descricao":"Antitérmico","preco":8.9,"foto":"-","categoria":{"id":%1$d}}
+				{"nome":"Ibuprofeno",
+				{"descricao":"Sem nome","preco":5,"foto":"-","categoria":{"id":%1$d}}
+				{"nome":"Vitamina C","descricao":"Suplemento","preco":20,"foto":"-","categoria":{"id":0}}
+				""".formatted(categoria.getId());
+
+		ResultadoImportacao resultado = produtoImportacaoService.importar(corpo(arquivo), FormatoCatalogo.NDJSON);
+
+		assertEquals(2, resultado.getImportados());
+		assertEquals(3, resultado.getRejeitados());
+
+		// A numeração das linhas conta as linhas em branco
+		assertEquals(List.of(4L, 5L, 6L), resultado.getErros().stream().map(ErroImportacao::linha).toList());
+		assertTrue(resultado.getErros().get(0).mensagem().startsWith("JSON inválido"));
+		assertEquals("O atrituto nome é obrigatório!", resultado.getErros().get(1).mensagem());
+		assertEquals("A categoria informada não existe!", resultado.getErros().get(2).mensagem());
+
+		Produto dipirona = produtoRepository.findAll().stream()
+				.filter(produto -> produto.getNome().equals("Dipirona"))
+				.findFirst().orElseThrow();
+		assertEquals(0, new BigDecimal("12.50").compareTo(dipirona.getPreco()));
+		assertEquals(categoria.getId(), dipirona.getCategoria().getId());
+		assertEquals(2, produtoRepository.count());
+	}
+
+	@Test
+	@DisplayName("02 - Deve importar CSV com campos entre aspas e colunas em outra ordem")
+	void deveImportarCsv() throws IOException {
+		String arquivo = """
+				categoria_id,nome,preco,descricao,foto
+				%1$d,"Dipirona, 500mg",12.5,"Analgésico ""genérico""",-
+				%1$d,Paracetamol,abc,Antitérmico,-
+				%1$d,"Ibuprofeno,9.9,Anti-inflamatório,-
+				%1$d,Vitamina C,20,,-
+				""".formatted(categoria.getId());
+
+		ResultadoImportacao resultado = produtoImportacaoService.importar(corpo(arquivo), FormatoCatalogo.CSV);
+
+		assertEquals(1, resultado.getImportados());
+		assertEquals(3, resultado.getRejeitados());
+		assertEquals(List.of(3L, 4L, 5L), resultado.getErros().stream().map(ErroImportacao::linha).toList());
+		assertEquals("O atrituto descrição é obrigatório!", resultado.getErros().get(2).mensagem());
+
+		Produto dipirona = produtoRepository.findAll().get(0);
+		assertEquals("Dipirona, 500mg", dipirona.getNome());
+		assertEquals("Analgésico \"genérico\"", dipirona.getDescricao());
+	}
+
+	@Test
+	@DisplayName("03 - Deve gravar linha a linha o lote recusado pelo banco")
+	void deveGravarLinhaALinhaOLoteRecusado() throws IOException {
+		// A descrição passa na validação, mas é maior que a coluna (255): o banco recusa o lote inteiro
+		String arquivo = """
+				{"nome":"Dipirona","descricao":"Analgésico","preco":12.5,"foto":"-","categoria":{"id":%1$d}}
+				{"nome":"Paracetamol","descricao":"%2$s","preco":8.9,"foto":"-","categoria":{"id":%1$d}}
+				{"nome":"Ibuprofeno","descricao":"Anti-inflamatório","preco":9.9,"foto":"-","categoria":{"id":%1$d}}
+				""".formatted(categoria.getId(), "x".repeat(300));
+
+		ResultadoImportacao resultado = produtoImportacaoService.importar(corpo(arquivo), FormatoCatalogo.NDJSON);
+
+		assertEquals(2, resultado.getImportados());
+		assertEquals(1, resultado.getRejeitados());
+		assertEquals(2L, resultado.getErros().get(0).linha());
+
+		// As linhas válidas do lote foram gravadas, com novos IDs, na nova tentativa
+		List<String> nomes = produtoRepository.findAll().stream().map(Produto::getNome).sorted().toList();
+		assertEquals(List.of("Dipirona", "Ibuprofeno"), nomes);
+	}
+
+	@Test
+	@DisplayName("04 - Deve recusar CSV sem as colunas obrigatórias com 400")
+	void deveRecusarCabecalhoIncompleto() {
+		ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+				() -> produtoImportacaoService.importar(corpo("nome,preco\nDipirona,12.5\n"), FormatoCatalogo.CSV));
+
+		assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+		assertEquals(0, produtoRepository.count());
+	}
+
+	private static InputStream corpo(String arquivo) {
+		return new ByteArrayInputStream(arquivo.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,137 @@
+package com.generation.farmacia.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.Pagina;
+import com.generation.farmacia.model.Produto;
+import com.generation.farmacia.model.ProdutoResumo;
+import com.generation.farmacia.repository.CategoriaRepository;
+import com.generation.farmacia.repository.ProdutoRepository;
+import com.generation.farmacia.util.Cursor;
+import com.generation.farmacia.util.TestBuilder;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.DisplayName.class)
+public class ProdutoServiceTest {
+
+	@Autowired
+	private ProdutoService produtoService;
+
+	@Autowired
+	private CategoriaService categoriaService;
+
+	@Autowired
+	private ProdutoRepository produtoRepository;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private CatalogoCacheService catalogoCacheService;
+
+	private List<Produto> produtos = new ArrayList<>();
+
+	@BeforeAll
+	void inicio() {
+		produtoRepository.deleteAll();
+		categoriaRepository.deleteAll();
+		catalogoCacheService.catalogoAlterado();
+
+		for (int i = 1; i <= 5; i++) {
+			categoriaRepository.save(TestBuilder.criarCategoria(null, "Categoria " + i));
+		}
+		Categoria categoria = categoriaRepository.findAll().get(0);
+
+		// Nomes e preços repetidos: o ID é o desempate e nenhum produto pode se repetir ou sumir entre as páginas
+		for (int i = 1; i <= 7; i++) {
+			produtos.add(produtoRepository.save(TestBuilder.criarProduto(null, "Dipirona " + (i % 3),
+					"Analgésico " + i, 10.0 * (i % 2 + 1), categoria)));
+		}
+	}
+
+	@Test
+	@DisplayName("01 - Deve percorrer todas as páginas ordenadas por nome com nomes repetidos")
+	void devePercorrerPaginasPorNome() {
+		List<Long> esperados = produtos.stream()
+				.sorted(Comparator.comparing(Produto::getNome).thenComparing(Produto::getId))
+				.map(Produto::getId)
+				.toList();
+
+		assertEquals(esperados, percorrer(ProdutoService.ORDEM_NOME));
+	}
+
+	@Test
+	@DisplayName("02 - Deve percorrer todas as páginas ordenadas por preço com preços repetidos")
+	void devePercorrerPaginasPorPreco() {
+		List<Long> esperados = produtos.stream()
+				.sorted(Comparator.comparing(Produto::getPreco).thenComparing(Produto::getId))
+				.map(Produto::getId)
+				.toList();
+
+		assertEquals(esperados, percorrer(ProdutoService.ORDEM_PRECO));
+	}
+
+	@Test
+	@DisplayName("03 - Deve recusar cursor adulterado ou de outra ordenação com 400")
+	void deveRecusarCursorInvalido() {
+		String cursorDoNome = produtoService.listarPagina(null, 2, ProdutoService.ORDEM_NOME).proximoCursor();
+		String cursorSemValor = new Cursor(ProdutoService.ORDEM_PRECO, 1L, "abc").codificar();
+
+		assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+				() -> produtoService.listarPagina(cursorDoNome, 2, ProdutoService.ORDEM_PRECO)).getStatusCode());
+		assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+				() -> produtoService.listarPagina(cursorSemValor, 2, ProdutoService.ORDEM_PRECO)).getStatusCode());
+		assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+				() -> produtoService.listarPagina("xyz", 2, ProdutoService.ORDEM_ID)).getStatusCode());
+		assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+				() -> produtoService.listarPagina(null, 2, "descricao")).getStatusCode());
+	}
+
+	@Test
+	@DisplayName("04 - Deve percorrer todas as páginas de categorias")
+	void devePercorrerPaginasDeCategorias() {
+		List<String> descricoes = new ArrayList<>();
+		String cursor = null;
+		do {
+			Pagina<Categoria> pagina = categoriaService.listarPagina(cursor, 2);
+			pagina.conteudo().forEach(categoria -> descricoes.add(categoria.getDescricao()));
+			cursor = pagina.proximoCursor();
+		} while (cursor != null);
+
+		assertEquals(List.of("Categoria 1", "Categoria 2", "Categoria 3", "Categoria 4", "Categoria 5"), descricoes);
+	}
+
+	// Percorre a listagem em páginas de 2 produtos seguindo os cursores até a última página
+	private List<Long> percorrer(String ordem) {
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		Pagina<ProdutoResumo> pagina;
+		do {
+			pagina = produtoService.listarPagina(cursor, 2, ordem);
+			pagina.conteudo().forEach(produto -> ids.add(produto.id()));
+			cursor = pagina.proximoCursor();
+		} while (cursor != null);
+
+		assertNull(pagina.proximoCursor());
+		return ids;
+	}
+}
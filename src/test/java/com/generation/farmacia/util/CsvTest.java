@@ -0,0 +1,43 @@
+package com.generation.farmacia.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CsvTest {
+
+	@Test
+	@DisplayName("01 - Deve ler campos entre aspas com vírgulas e aspas escapadas")
+	void deveLerCamposEntreAspas() {
+		assertEquals(List.of("Dipirona", "Analgésico, antitérmico", "Gotas \"infantil\"", "", "12.5"),
+				Csv.lerLinha("Dipirona,\"Analgésico, antitérmico\",\"Gotas \"\"infantil\"\"\",,12.5"));
+		assertEquals(List.of("", ""), Csv.lerLinha(","));
+		assertEquals(List.of(""), Csv.lerLinha("\"\""));
+	}
+
+	@Test
+	@DisplayName("02 - Deve recusar linha com aspas não fechadas")
+	void deveRecusarAspasNaoFechadas() {
+		assertThrows(IllegalArgumentException.class, () -> Csv.lerLinha("Dipirona,\"Analgésico"));
+	}
+
+	@Test
+	@DisplayName("03 - Deve escapar apenas os campos que precisam de aspas")
+	void deveEscaparCampos() {
+		assertEquals("Dipirona", Csv.escapar("Dipirona"));
+		assertEquals("", Csv.escapar(null));
+		assertEquals("12.50", Csv.escapar(new BigDecimal("12.50")));
+		assertEquals("\"Analgésico, antitérmico\"", Csv.escapar("Analgésico, antitérmico"));
+		assertEquals("\"Gotas \"\"infantil\"\"\"", Csv.escapar("Gotas \"infantil\""));
+		assertEquals("\"Linha 1\nLinha 2\"", Csv.escapar("Linha 1\nLinha 2"));
+
+		// O que é escrito volta igual na leitura
+		String texto = "Vitamina C, \"efervescente\"";
+		assertEquals(List.of(texto, "10"), Csv.lerLinha(Csv.escapar(texto) + "," + Csv.escapar(10)));
+	}
+}
@@ -0,0 +1,41 @@
+package com.generation.farmacia.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class CursorTest {
+
+	@Test
+	@DisplayName("01 - Deve decodificar o cursor gerado, inclusive com o separador no valor")
+	void deveDecodificarCursorGerado() {
+		Cursor cursor = new Cursor("nome", 42L, "Vitamina C | 1g");
+
+		assertEquals(cursor, Cursor.decodificar(cursor.codificar(), "nome"));
+		assertEquals(new Cursor("id", 7L, ""), Cursor.decodificar(new Cursor("id", 7L, null).codificar(), "id"));
+	}
+
+	@Test
+	@DisplayName("02 - Deve recusar cursor adulterado ou de outra ordenação com 400")
+	void deveRecusarCursorInvalido() {
+		String doNome = new Cursor("nome", 42L, "Vitamina C").codificar();
+		String semId = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("nome|abc|Vitamina C".getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+				() -> Cursor.decodificar(doNome, "preco")).getStatusCode());
+		assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+				() -> Cursor.decodificar("não é base64!", "nome")).getStatusCode());
+		assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+				() -> Cursor.decodificar(semId, "nome")).getStatusCode());
+		assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ResponseStatusException.class,
+				() -> Cursor.decodificar(doNome.substring(0, 3), "nome")).getStatusCode());
+	}
+}
@@ -0,0 +1,33 @@
+package com.generation.farmacia.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Captura os comandos SQL gerados pelo Hibernate na thread atual, entre iniciar() e parar()
+// (registrado em hibernate.session_factory.statement_inspector no application.properties dos testes)
+public class SqlCapturado implements StatementInspector {
+
+	private static final ThreadLocal<List<String>> COMANDOS = new ThreadLocal<>();
+
+	@Override
+	public String inspect(String sql) {
+		List<String> comandos = COMANDOS.get();
+		if (comandos != null) {
+			comandos.add(sql);
+		}
+		return sql;
+	}
+
+	public static void iniciar() {
+		COMANDOS.set(new ArrayList<>());
+	}
+
+	// Comandos capturados desde iniciar(), na ordem de execução
+	public static List<String> parar() {
+		List<String> comandos = COMANDOS.get();
+		COMANDOS.remove();
+		return comandos == null ? List.of() : comandos;
+	}
+}
@@ -1,5 +1,9 @@
 package com.generation.farmacia.util;
 
+import java.math.BigDecimal;
+
+import com.generation.farmacia.model.Categoria;
+import com.generation.farmacia.model.Produto;
 import com.generation.farmacia.model.Usuario;
 import com.generation.farmacia.model.UsuarioLogin;
 
@@ -20,4 +24,22 @@ public class TestBuilder {
 		novoUsuarioLogin.setSenha(senha);
 		return novoUsuarioLogin;
 	}
-}
\ No newline at end of file
+	
+	public static Categoria criarCategoria(Long id, String descricao) {
+		Categoria novaCategoria = new Categoria();
+		novaCategoria.setId(id);
+		novaCategoria.setDescricao(descricao);
+		return novaCategoria;
+	}
+	
+	public static Produto criarProduto(Long id, String nome, String descricao, Double preco, Categoria categoria) {
+		Produto novoProduto = new Produto();
+		novoProduto.setId(id);
+		novoProduto.setNome(nome);
+		novoProduto.setDescricao(descricao);
+		novoProduto.setPreco(BigDecimal.valueOf(preco));
+		novoProduto.setFoto("-");
+		novoProduto.setCategoria(categoria);
+		return novoProduto;
+	}
+}